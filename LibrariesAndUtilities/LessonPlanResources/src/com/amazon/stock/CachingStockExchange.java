@@ -0,0 +1,330 @@
+package com.amazon.stock;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A StockExchange that serves market prices from a cache in front of another
+ * StockExchange.
+ *
+ * Prices are served for up to maxStaleness after they were fetched. When
+ * several callers ask for the same symbol while its price is being fetched,
+ * they all wait for that one fetch rather than each calling the exchange.
+ * Symbols the exchange has no price for, whether it returned null or threw
+ * NonExistentStockException, are remembered for negativeTimeToLive, so
+ * repeated lookups of them don't reach the exchange either.
+ *
+ * Expired entries are dropped every CLEAN_UP_INTERVAL fetches, so looking up
+ * many symbols once doesn't grow the cache without bound. A symbol's stats
+ * are kept until it goes unlooked-up for the longer of the two lifetimes.
+ *
+ * Offers and bids, single or batched, always go to the exchange. So do
+ * listings: the cache has no listings or symbol registry of its own, and
+ * listing a stock through it drops that stock's cached price.
+ */
+public class CachingStockExchange extends StockExchange {
+    /** How many fetches from the exchange happen between automatic clean-ups. */
+    static final int CLEAN_UP_INTERVAL = 1_024;
+
+    private final StockExchange delegate;
+    private final long maxStalenessNanos;
+    private final long negativeTimeToLiveNanos;
+    private final Ticker ticker;
+    private final Map<String, CompletableFuture<Quote>> quotesBySymbol = new ConcurrentHashMap<>();
+    private final LoadingCache<String, SymbolCounters> countersBySymbol;
+    private final AtomicInteger fetchesSinceCleanUp = new AtomicInteger();
+
+    /**
+     * Creates a cache in front of the delegate.
+     * @param delegate The exchange to fetch prices from on a cache miss.
+     * @param maxStaleness How long a fetched price may be served.
+     * @param negativeTimeToLive How long to remember that a symbol has no price.
+     */
+    public CachingStockExchange(StockExchange delegate, Duration maxStaleness, Duration negativeTimeToLive) {
+        this(delegate, maxStaleness, negativeTimeToLive, Ticker.systemTicker());
+    }
+
+    CachingStockExchange(StockExchange delegate, Duration maxStaleness, Duration negativeTimeToLive,
+                         Ticker ticker) {
+        super(new SymbolRegistry(), false);
+
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate StockExchange must not be null!");
+        }
+        if (maxStaleness == null || maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Max staleness must not be null or negative!");
+        }
+        if (negativeTimeToLive == null || negativeTimeToLive.isNegative()) {
+            throw new IllegalArgumentException("Negative time to live must not be null or negative!");
+        }
+
+        this.delegate = delegate;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.negativeTimeToLiveNanos = negativeTimeToLive.toNanos();
+        this.ticker = ticker;
+        this.countersBySymbol = CacheBuilder.newBuilder()
+            .expireAfterAccess(Math.max(maxStalenessNanos, negativeTimeToLiveNanos), TimeUnit.NANOSECONDS)
+            .ticker(ticker)
+            .build(CacheLoader.from(SymbolCounters::new));
+    }
+
+    @Override
+    public StockPriceResponse getMarketPrice(String symbol) throws NonExistentStockException {
+        if (symbol == null) {
+            return delegate.getMarketPrice(symbol);
+        }
+
+        SymbolCounters counters = countersBySymbol.getUnchecked(symbol);
+        CompletableFuture<Quote> fetch = new CompletableFuture<>();
+        CompletableFuture<Quote> current = quotesBySymbol.compute(symbol,
+            (unused, existing) -> existing != null && !isExpired(existing) ? existing : fetch);
+
+        Quote quote;
+        if (current == fetch) {
+            counters.misses.increment();
+            if (fetchesSinceCleanUp.incrementAndGet() >= CLEAN_UP_INTERVAL) {
+                fetchesSinceCleanUp.set(0);
+                cleanUp();
+            }
+            quote = fetchQuote(symbol, fetch);
+        } else if (!current.isDone()) {
+            counters.coalescedWaits.increment();
+            quote = await(current);
+        } else {
+            quote = current.join();
+            if (quote.isNonExistent() || quote.getResponse() == null) {
+                counters.negativeHits.increment();
+            } else {
+                counters.hits.increment();
+            }
+        }
+
+        if (quote.isNonExistent()) {
+            throw new NonExistentStockException("No stock with symbol " + symbol + "!");
+        }
+        return quote.getResponse();
+    }
+
+    /**
+     * Lists the stock on the exchange, then drops its cached price so the
+     * next lookup sees the new one.
+     * @param stock The stock to list.
+     * @param price The stock's market price per share, or null if it has no market price.
+     */
+    @Override
+    public void list(Stock stock, BigDecimal price) {
+        delegate.list(stock, price);
+        quotesBySymbol.computeIfPresent(stock.getSymbol(), (unused, quote) -> quote.isDone() ? null : quote);
+    }
+
+    @Override
+    public SymbolRegistry getSymbolRegistry() {
+        return delegate.getSymbolRegistry();
+    }
+
+    @Override
+    public SellStockResponse offer(SellStockRequest request) throws NonExistentStockException {
+        return delegate.offer(request);
+    }
+
+    @Override
+    public BuyStockResponse bid(BuyStockRequest request) throws NonExistentStockException {
+        return delegate.bid(request);
+    }
+
+    @Override
+    public List<OrderResult<SellStockResponse>> offerAll(List<SellStockRequest> requests) {
+        return delegate.offerAll(requests);
+    }
+
+    @Override
+    public List<OrderResult<BuyStockResponse>> bidAll(List<BuyStockRequest> requests) {
+        return delegate.bidAll(requests);
+    }
+
+    /**
+     * Returns the cache's counters for one symbol.
+     * @param symbol The symbol to report on.
+     * @return A snapshot of the symbol's hits, misses, coalesced waits and negative hits.
+     */
+    public SymbolStats getStats(String symbol) {
+        SymbolCounters counters = symbol == null ? null : countersBySymbol.getIfPresent(symbol);
+        return counters == null ? new SymbolStats(0, 0, 0, 0) : counters.snapshot();
+    }
+
+    /**
+     * Drops every cached price and negative result, so the next lookup of
+     * each symbol reaches the exchange. Fetches in progress are unaffected.
+     */
+    public void invalidateAll() {
+        quotesBySymbol.values().removeIf(CompletableFuture::isDone);
+    }
+
+    /**
+     * Drops expired entries, and the stats of symbols that haven't been looked
+     * up for a while. This also happens automatically every CLEAN_UP_INTERVAL
+     * fetches.
+     */
+    public void cleanUp() {
+        quotesBySymbol.values().removeIf(this::isExpired);
+        countersBySymbol.cleanUp();
+    }
+
+    int getCachedSymbolCount() {
+        return quotesBySymbol.size();
+    }
+
+    long getTrackedSymbolCount() {
+        return countersBySymbol.size();
+    }
+
+    private Quote fetchQuote(String symbol, CompletableFuture<Quote> fetch) {
+        Quote quote;
+        try {
+            quote = new Quote(delegate.getMarketPrice(symbol), false, ticker.read());
+        } catch (NonExistentStockException e) {
+            quote = new Quote(null, true, ticker.read());
+        } catch (RuntimeException | Error e) {
+            // Unexpected failures aren't cached; waiting callers see the failure and the next lookup retries
+            quotesBySymbol.remove(symbol, fetch);
+            fetch.completeExceptionally(e);
+            throw e;
+        }
+        fetch.complete(quote);
+        return quote;
+    }
+
+    private static Quote await(CompletableFuture<Quote> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<Quote> future) {
+        if (!future.isDone()) {
+            return false;
+        }
+        if (future.isCompletedExceptionally()) {
+            return true;
+        }
+        Quote quote = future.join();
+        long timeToLiveNanos = quote.isNonExistent() || quote.getResponse() == null ?
+            negativeTimeToLiveNanos : maxStalenessNanos;
+        return ticker.read() - quote.getFetchedAtNanos() >= timeToLiveNanos;
+    }
+
+    private static class Quote {
+        private final StockPriceResponse response;
+        private final boolean nonExistent;
+        private final long fetchedAtNanos;
+
+        Quote(StockPriceResponse response, boolean nonExistent, long fetchedAtNanos) {
+            this.response = response;
+            this.nonExistent = nonExistent;
+            this.fetchedAtNanos = fetchedAtNanos;
+        }
+
+        StockPriceResponse getResponse() {
+            return response;
+        }
+
+        boolean isNonExistent() {
+            return nonExistent;
+        }
+
+        long getFetchedAtNanos() {
+            return fetchedAtNanos;
+        }
+    }
+
+    private static class SymbolCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder coalescedWaits = new LongAdder();
+        private final LongAdder negativeHits = new LongAdder();
+
+        SymbolStats snapshot() {
+            return new SymbolStats(hits.sum(), misses.sum(), coalescedWaits.sum(), negativeHits.sum());
+        }
+    }
+
+    /**
+     * How one symbol's lookups were served.
+     */
+    public static class SymbolStats {
+        private final long hitCount;
+        private final long missCount;
+        private final long coalescedWaitCount;
+        private final long negativeHitCount;
+
+        SymbolStats(long hitCount, long missCount, long coalescedWaitCount, long negativeHitCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.coalescedWaitCount = coalescedWaitCount;
+            this.negativeHitCount = negativeHitCount;
+        }
+
+        /**
+         * Lookups served a cached price.
+         * @return The number of positive cache hits.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Lookups that fetched from the exchange.
+         * @return The number of cache misses.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Lookups that waited for another caller's fetch instead of fetching.
+         * @return The number of coalesced lookups.
+         */
+        public long getCoalescedWaitCount() {
+            return coalescedWaitCount;
+        }
+
+        /**
+         * Lookups answered from the negative cache: a cached null price or nonexistent symbol.
+         * @return The number of negative cache hits.
+         */
+        public long getNegativeHitCount() {
+            return negativeHitCount;
+        }
+
+        @Override
+        public String toString() {
+            return "SymbolStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", coalescedWaitCount=" + coalescedWaitCount +
+                ", negativeHitCount=" + negativeHitCount +
+                '}';
+        }
+    }
+}
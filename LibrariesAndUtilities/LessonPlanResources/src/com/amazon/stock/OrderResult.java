@@ -0,0 +1,69 @@
+package com.amazon.stock;
+
+/**
+ * The outcome of one order in a batch: either the exchange's response, or
+ * the exception the order failed with. A failed order doesn't affect the
+ * rest of its batch.
+ *
+ * @param <T> The type of the exchange's response.
+ */
+public class OrderResult<T> {
+    private final T response;
+    private final Exception exception;
+
+    private OrderResult(T response, Exception exception) {
+        this.response = response;
+        this.exception = exception;
+    }
+
+    /**
+     * Creates the result of an order the exchange accepted.
+     * @param response The exchange's response, which is null for stocks without a market price.
+     * @param <T> The type of the exchange's response.
+     * @return A successful result.
+     */
+    public static <T> OrderResult<T> success(T response) {
+        return new OrderResult<>(response, null);
+    }
+
+    /**
+     * Creates the result of an order that failed.
+     * @param exception Why the order failed, such as a NonExistentStockException.
+     * @param <T> The type of the exchange's response.
+     * @return A failed result.
+     */
+    public static <T> OrderResult<T> failure(Exception exception) {
+        if (exception == null) {
+            throw new IllegalArgumentException("Exception must not be null!");
+        }
+        return new OrderResult<>(null, exception);
+    }
+
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    /**
+     * The exchange's response to a successful order.
+     * @return The response, or null if the order failed or the stock has no market price.
+     */
+    public T getResponse() {
+        return response;
+    }
+
+    /**
+     * Why the order failed.
+     * @return The exception, or null if the order succeeded.
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderResult{" +
+            "response=" + response +
+            ", exception=" + exception +
+            '}';
+    }
+}
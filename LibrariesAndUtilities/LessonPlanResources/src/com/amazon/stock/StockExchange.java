@@ -1,57 +1,247 @@
 package com.amazon.stock;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public class StockExchange {
-    private String amazonId = "amzn";
-    private BigDecimal currentAmazonStockPrice = BigDecimal.valueOf(1_000L);
+    private static final Listing NOT_LISTED = new Listing(null);
 
-    private String wholefoodsId = "wfm";
+    private final SymbolRegistry symbolRegistry;
+    private volatile Listing[] listingsById = new Listing[0];
 
-    public StockPriceResponse getMarketPrice(String symbol) throws NonExistentStockException {
-        if (symbol.equals(amazonId)) {
-            return StockPriceResponse.builder()
-                .withSymbol(amazonId)
-                .withPrice(currentAmazonStockPrice)
-                .build();
+    public StockExchange() {
+        this(new SymbolRegistry());
+    }
+
+    /**
+     * Creates an exchange that numbers its listings through the given
+     * registry, so ids can be shared with other users of the registry.
+     * Amazon is listed at 1000; Whole Foods and "nonexistent" are listed
+     * without a market price.
+     * @param symbolRegistry The registry to intern listed stocks through.
+     */
+    public StockExchange(SymbolRegistry symbolRegistry) {
+        this(symbolRegistry, true);
+    }
+
+    /**
+     * Creates an exchange, optionally without the default listings, for
+     * subclasses that serve another exchange's listings instead of their own.
+     * @param symbolRegistry The registry to intern listed stocks through.
+     * @param listDefaultStocks Whether to list Amazon, Whole Foods and "nonexistent".
+     */
+    StockExchange(SymbolRegistry symbolRegistry, boolean listDefaultStocks) {
+        if (symbolRegistry == null) {
+            throw new IllegalArgumentException("Symbol registry must not be null!");
+        }
+        this.symbolRegistry = symbolRegistry;
+        if (listDefaultStocks) {
+            list(new Stock("amzn", "Amazon"), BigDecimal.valueOf(1_000L));
+            list(new Stock("wfm", "Whole Foods Market"), null);
+            list(new Stock("nonexistent", "Nonexistent"), null);
         }
+    }
+
+    /**
+     * Lists a stock on the exchange, or changes its price if it is already
+     * listed. The listings grow geometrically, so listing n new stocks costs
+     * O(n) overall. Changing a listed stock's price copies the listings, so
+     * batches already running keep pricing from the listings they started with.
+     * @param stock The stock to list.
+     * @param price The stock's market price per share, or null if it has no market price.
+     */
+    public synchronized void list(Stock stock, BigDecimal price) {
+        int id = symbolRegistry.register(stock);
+        Listing[] listings = listingsById;
+        if (id >= listings.length) {
+            listings = Arrays.copyOf(listings, Math.max(id + 1, listings.length * 2));
+        } else if (listings[id] != null) {
+            listings = listings.clone();
+        }
+        listings[id] = new Listing(price);
+        // Publishes the new listing even when it was written into the current array
+        listingsById = listings;
+    }
+
+    public SymbolRegistry getSymbolRegistry() {
+        return symbolRegistry;
+    }
 
-        if (symbol.equals("wfm") | symbol.equals("nonexistent")) {
+    /**
+     * Looks up a listed stock's market price. A null symbol is treated like
+     * any other unlisted symbol.
+     * @param symbol The symbol to look up.
+     * @return The stock's price, or null if it is listed without a market price.
+     * @throws NonExistentStockException if the symbol is null or not listed.
+     */
+    public StockPriceResponse getMarketPrice(String symbol) throws NonExistentStockException {
+        BigDecimal price = findListing(symbol).price;
+        if (price == null) {
             return null;
         }
 
-        throw new NonExistentStockException();
+        return StockPriceResponse.builder()
+            .withSymbol(symbol)
+            .withPrice(price)
+            .build();
     }
 
     public SellStockResponse offer(SellStockRequest request) throws NonExistentStockException {
-        if (request.getSymbol().equals(amazonId)) {
-            return SellStockResponse.builder()
-                .withSymbol(amazonId)
-                .withPrice(currentAmazonStockPrice.multiply(BigDecimal.valueOf(request.getQuantity())))
-                .withQuantity(request.getQuantity())
-                .build();
+        BigDecimal price = findListing(request.getSymbol()).price;
+        if (price == null) {
+            return null;
         }
 
-        if (request.getSymbol().equals("wfm") | request.getSymbol().equals("nonexistent")) {
+        return sellStockResponse(request.getSymbol(), price.multiply(BigDecimal.valueOf(request.getQuantity())),
+            request.getQuantity());
+    }
+
+    public BuyStockResponse bid(BuyStockRequest request) throws NonExistentStockException {
+        BigDecimal price = findListing(request.getSymbol()).price;
+        if (price == null) {
             return null;
         }
 
-        throw new NonExistentStockException();
+        return buyStockResponse(request.getSymbol(), price.multiply(BigDecimal.valueOf(request.getQuantity())),
+            request.getQuantity());
     }
 
-    public BuyStockResponse bid(BuyStockRequest request) throws NonExistentStockException {
-        if (request.getSymbol().equals(amazonId)) {
-            return BuyStockResponse.builder()
-                .withSymbol(amazonId)
-                .withPrice(currentAmazonStockPrice.multiply(BigDecimal.valueOf(request.getQuantity())))
-                .withQuantity(request.getQuantity())
-                .build();
+    /**
+     * Places many sell orders at once. Each distinct symbol is resolved once,
+     * and every order is priced from the same snapshot of listings. An order
+     * that fails gets a failed result; the rest of the batch still runs.
+     * @param requests The sell orders, in order.
+     * @return One result per request, in the same order.
+     */
+    public List<OrderResult<SellStockResponse>> offerAll(List<SellStockRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests must not be null!");
         }
 
-        if (request.getSymbol().equals("wfm") | request.getSymbol().equals("nonexistent")) {
-            return null;
+        return placeAll(requests, SellStockRequest::getSymbol, SellStockRequest::getQuantity,
+            StockExchange::sellStockResponse);
+    }
+
+    /**
+     * Places many buy orders at once. Each distinct symbol is resolved once,
+     * and every order is priced from the same snapshot of listings. An order
+     * that fails gets a failed result; the rest of the batch still runs.
+     * @param requests The buy orders, in order.
+     * @return One result per request, in the same order.
+     */
+    public List<OrderResult<BuyStockResponse>> bidAll(List<BuyStockRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests must not be null!");
+        }
+
+        return placeAll(requests, BuyStockRequest::getSymbol, BuyStockRequest::getQuantity,
+            StockExchange::buyStockResponse);
+    }
+
+    /**
+     * Prices every order in a batch against one snapshot of listings. Sell
+     * and buy batches differ only in their request and response types.
+     */
+    private <Q, R> List<OrderResult<R>> placeAll(List<Q> requests, Function<Q, String> symbolOf,
+                                                 ToIntFunction<Q> quantityOf, OrderResponseFactory<R> responseFactory) {
+        BatchPricer pricer = new BatchPricer(listingsById);
+        List<OrderResult<R>> results = new ArrayList<>(requests.size());
+        for (Q request : requests) {
+            if (request == null) {
+                results.add(OrderResult.failure(new IllegalArgumentException("Request must not be null!")));
+                continue;
+            }
+            try {
+                String symbol = symbolOf.apply(request);
+                int quantity = quantityOf.applyAsInt(request);
+                BigDecimal price = pricer.price(symbol, quantity);
+                R response = price == null ? null : responseFactory.create(symbol, price, quantity);
+                results.add(OrderResult.success(response));
+            } catch (NonExistentStockException e) {
+                results.add(OrderResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    private static SellStockResponse sellStockResponse(String symbol, BigDecimal price, int quantity) {
+        return SellStockResponse.builder()
+            .withSymbol(symbol)
+            .withPrice(price)
+            .withQuantity(quantity)
+            .build();
+    }
+
+    private static BuyStockResponse buyStockResponse(String symbol, BigDecimal price, int quantity) {
+        return BuyStockResponse.builder()
+            .withSymbol(symbol)
+            .withPrice(price)
+            .withQuantity(quantity)
+            .build();
+    }
+
+    private Listing findListing(String symbol) throws NonExistentStockException {
+        return findListing(symbol, listingsById);
+    }
+
+    private Listing findListing(String symbol, Listing[] listings) throws NonExistentStockException {
+        int id = symbolRegistry.findId(symbol);
+        // The registry may be shared, so it can know symbols this exchange doesn't list
+        if (id == SymbolRegistry.NOT_FOUND || id >= listings.length || listings[id] == null) {
+            throw new NonExistentStockException();
         }
+        return listings[id];
+    }
 
-        throw new NonExistentStockException();
+    /**
+     * Builds one kind of order response from a priced order.
+     */
+    private interface OrderResponseFactory<R> {
+        R create(String symbol, BigDecimal price, int quantity);
+    }
+
+    private static class Listing {
+        private final BigDecimal price;
+
+        Listing(BigDecimal price) {
+            this.price = price;
+        }
+    }
+
+    /**
+     * Prices a batch's orders against one snapshot of listings, resolving
+     * each distinct symbol only once. Prices never change under a batch, but
+     * a stock first listed while it runs may or may not be seen.
+     */
+    private class BatchPricer {
+        private final Listing[] listings;
+        private final Map<String, Listing> listingsBySymbol = new HashMap<>();
+
+        BatchPricer(Listing[] listings) {
+            this.listings = listings;
+        }
+
+        BigDecimal price(String symbol, int quantity) throws NonExistentStockException {
+            Listing listing = listingsBySymbol.get(symbol);
+            if (listing == null) {
+                try {
+                    listing = findListing(symbol, listings);
+                } catch (NonExistentStockException e) {
+                    listing = NOT_LISTED;
+                }
+                listingsBySymbol.put(symbol, listing);
+            }
+
+            if (listing == NOT_LISTED) {
+                throw new NonExistentStockException("No stock with symbol " + symbol + "!");
+            }
+            return listing.price == null ? null : listing.price.multiply(BigDecimal.valueOf(quantity));
+        }
     }
 }
@@ -0,0 +1,99 @@
+package com.amazon.stock;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns Stocks by symbol and numbers them with dense ids, 0, 1, 2, and so
+ * on, in registration order. Code that keeps per-stock data can then hold
+ * it in arrays indexed by id, and resolve a symbol with one hash lookup
+ * instead of comparing it against every known symbol.
+ *
+ * Lookups never lock. Registration is synchronized; registering an existing
+ * symbol returns its existing id and keeps the first Stock registered. The
+ * id table grows geometrically, so registering n symbols costs O(n) overall.
+ */
+public class SymbolRegistry {
+    /** Returned by findId for symbols that aren't registered. */
+    public static final int NOT_FOUND = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Integer> idsBySymbol = new ConcurrentHashMap<>();
+    private volatile Stock[] stocksById = new Stock[0];
+    private volatile int size;
+
+    /**
+     * Registers a stock, unless one with the same symbol already is.
+     * @param stock The stock to register.
+     * @return The id of the stock's symbol.
+     */
+    public synchronized int register(Stock stock) {
+        if (stock == null || stock.getSymbol() == null) {
+            throw new IllegalArgumentException("Stock and its symbol must not be null!");
+        }
+
+        Integer existingId = idsBySymbol.get(stock.getSymbol());
+        if (existingId != null) {
+            return existingId;
+        }
+
+        int id = size;
+        Stock[] stocks = stocksById;
+        if (id == stocks.length) {
+            stocks = Arrays.copyOf(stocks, Math.max(INITIAL_CAPACITY, id * 2));
+        }
+        stocks[id] = stock;
+        // Publish the stock, then the size, then the id, so anyone who sees the id or size can read the stock
+        stocksById = stocks;
+        size = id + 1;
+        idsBySymbol.put(stock.getSymbol(), id);
+        return id;
+    }
+
+    /**
+     * Returns the registered Stock equal to this one, registering it if needed.
+     * @param stock The stock to intern.
+     * @return The canonical Stock instance for the symbol.
+     */
+    public Stock intern(Stock stock) {
+        return getStock(register(stock));
+    }
+
+    /**
+     * Finds the id of a symbol.
+     * @param symbol The symbol to look up.
+     * @return The symbol's id, or NOT_FOUND if it isn't registered.
+     */
+    public int findId(String symbol) {
+        if (symbol == null) {
+            return NOT_FOUND;
+        }
+        Integer id = idsBySymbol.get(symbol);
+        return id == null ? NOT_FOUND : id;
+    }
+
+    /**
+     * Returns the stock registered with an id.
+     * @param id An id returned by register or findId.
+     * @return The registered Stock.
+     */
+    public Stock getStock(int id) {
+        // Read the size first: any array read after it holds every stock below it
+        int registered = size;
+        Stock[] stocks = stocksById;
+        if (id < 0 || id >= registered) {
+            throw new IllegalArgumentException("No stock registered with id " + id + "!");
+        }
+        return stocks[id];
+    }
+
+    /**
+     * Returns how many symbols are registered. Ids run from 0 to size() - 1.
+     * @return The number of registered symbols.
+     */
+    public int size() {
+        return size;
+    }
+}
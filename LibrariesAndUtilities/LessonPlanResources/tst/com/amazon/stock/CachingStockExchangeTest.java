@@ -0,0 +1,220 @@
+package com.amazon.stock;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingStockExchangeTest {
+    private FakeTicker ticker;
+    private CountingStockExchange exchange;
+    private CachingStockExchange cachingExchange;
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+
+    private static class CountingStockExchange extends StockExchange {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile Error error;
+
+        @Override
+        public StockPriceResponse getMarketPrice(String symbol) throws NonExistentStockException {
+            calls.incrementAndGet();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (error != null) {
+                throw error;
+            }
+            return super.getMarketPrice(symbol);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ticker = new FakeTicker();
+        exchange = new CountingStockExchange();
+        cachingExchange = new CachingStockExchange(exchange, Duration.ofSeconds(1), Duration.ofMinutes(1), ticker);
+    }
+
+    @Test
+    public void getMarketPrice_withinStaleness_servesCachedPrice() throws NonExistentStockException {
+        // WHEN
+        StockPriceResponse first = cachingExchange.getMarketPrice("amzn");
+        StockPriceResponse second = cachingExchange.getMarketPrice("amzn");
+
+        // THEN
+        assertSame(first, second);
+        assertEquals(BigDecimal.valueOf(1_000L), first.getPrice());
+        assertEquals(1, exchange.calls.get());
+        assertEquals(1, cachingExchange.getStats("amzn").getHitCount());
+        assertEquals(1, cachingExchange.getStats("amzn").getMissCount());
+    }
+
+    @Test
+    public void getMarketPrice_pastStaleness_fetchesAgain() throws NonExistentStockException {
+        // GIVEN
+        cachingExchange.getMarketPrice("amzn");
+
+        // WHEN
+        ticker.advance(Duration.ofSeconds(1));
+        cachingExchange.getMarketPrice("amzn");
+
+        // THEN
+        assertEquals(2, exchange.calls.get());
+    }
+
+    @Test
+    public void getMarketPrice_unknownSymbols_negativelyCached() throws NonExistentStockException {
+        // WHEN
+        assertNull(cachingExchange.getMarketPrice("wfm"));
+        assertNull(cachingExchange.getMarketPrice("wfm"));
+        assertThrows(NonExistentStockException.class, () -> cachingExchange.getMarketPrice("unknown"));
+        assertThrows(NonExistentStockException.class, () -> cachingExchange.getMarketPrice("unknown"));
+        ticker.advance(Duration.ofSeconds(30));
+        assertNull(cachingExchange.getMarketPrice("wfm"));
+
+        // THEN
+        assertEquals(2, exchange.calls.get());
+        assertEquals(2, cachingExchange.getStats("wfm").getNegativeHitCount());
+        assertEquals(1, cachingExchange.getStats("unknown").getNegativeHitCount());
+    }
+
+    @Test
+    public void getMarketPrice_concurrentCallers_fetchOnce() throws Exception {
+        // GIVEN
+        int callers = 8;
+        exchange.gate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<StockPriceResponse>> results = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> cachingExchange.getMarketPrice("amzn")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cachingExchange.getStats("amzn").getCoalescedWaitCount() < callers - 1 &&
+            System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        exchange.gate.countDown();
+
+        // THEN
+        StockPriceResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<StockPriceResponse> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, exchange.calls.get());
+        assertEquals(callers - 1, cachingExchange.getStats("amzn").getCoalescedWaitCount());
+    }
+
+    @Test
+    public void invalidateAll_cachedPrice_fetchesAgain() throws NonExistentStockException {
+        // GIVEN
+        cachingExchange.getMarketPrice("amzn");
+
+        // WHEN
+        cachingExchange.invalidateAll();
+        cachingExchange.getMarketPrice("amzn");
+
+        // THEN
+        assertEquals(2, exchange.calls.get());
+    }
+
+    @Test
+    public void list_throughCache_updatesDelegateAndDropsCachedPrice() throws NonExistentStockException {
+        // GIVEN
+        cachingExchange.getMarketPrice("amzn");
+
+        // WHEN
+        cachingExchange.list(new Stock("amzn", "Amazon"), BigDecimal.valueOf(1_200L));
+        cachingExchange.list(new Stock("goog", "Google"), BigDecimal.valueOf(20L));
+
+        // THEN
+        assertEquals(BigDecimal.valueOf(1_200L), cachingExchange.getMarketPrice("amzn").getPrice());
+        assertEquals(BigDecimal.valueOf(20L), exchange.getMarketPrice("goog").getPrice());
+        assertSame(exchange.getSymbolRegistry(), cachingExchange.getSymbolRegistry());
+    }
+
+    @Test
+    public void getMarketPrice_nullSymbol_throwsNonExistentStockExceptionLikeDelegate() {
+        // WHEN + THEN
+        assertThrows(NonExistentStockException.class, () -> exchange.getMarketPrice(null));
+        assertThrows(NonExistentStockException.class, () -> cachingExchange.getMarketPrice(null));
+    }
+
+    @Test
+    public void getMarketPrice_manyUnknownSymbolsOverTime_staysBounded() {
+        // WHEN
+        for (int i = 0; i < 5 * CachingStockExchange.CLEAN_UP_INTERVAL; i++) {
+            String symbol = "unknown" + i;
+            assertThrows(NonExistentStockException.class, () -> cachingExchange.getMarketPrice(symbol));
+            ticker.advance(Duration.ofSeconds(1));
+        }
+        cachingExchange.cleanUp();
+
+        // THEN
+        assertTrue(cachingExchange.getCachedSymbolCount() <= 60);
+        assertTrue(cachingExchange.getTrackedSymbolCount() <= 60);
+        assertEquals(0, cachingExchange.getStats("unknown0").getMissCount());
+    }
+
+    @Test
+    public void getMarketPrice_coalescedFetchThrowsError_waitersSeeSameError() throws Exception {
+        // GIVEN
+        exchange.gate = new CountDownLatch(1);
+        exchange.error = new AssertionError("exchange down");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<StockPriceResponse> first = executor.submit(() -> cachingExchange.getMarketPrice("amzn"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (exchange.calls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Future<StockPriceResponse> second = executor.submit(() -> cachingExchange.getMarketPrice("amzn"));
+        while (cachingExchange.getStats("amzn").getCoalescedWaitCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // WHEN
+        exchange.gate.countDown();
+
+        // THEN
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure =
+            assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertSame(exchange.error, firstFailure.getCause());
+        assertSame(exchange.error, secondFailure.getCause());
+    }
+}
@@ -0,0 +1,146 @@
+package com.amazon.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockExchangeTest {
+    private SymbolRegistry registry;
+    private StockExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SymbolRegistry();
+        exchange = new StockExchange(registry);
+    }
+
+    @Test
+    public void getMarketPrice_defaultListings_matchOriginalBehavior() throws NonExistentStockException {
+        // WHEN + THEN
+        assertEquals(BigDecimal.valueOf(1_000L), exchange.getMarketPrice("amzn").getPrice());
+        assertNull(exchange.getMarketPrice("wfm"));
+        assertNull(exchange.getMarketPrice("nonexistent"));
+        assertThrows(NonExistentStockException.class, () -> exchange.getMarketPrice("goog"));
+    }
+
+    @Test
+    public void bid_listedStock_pricesByQuantity() throws NonExistentStockException {
+        // GIVEN
+        exchange.list(new Stock("goog", "Google"), BigDecimal.valueOf(20L));
+
+        // WHEN
+        BuyStockResponse response = exchange.bid(BuyStockRequest.builder().withSymbol("goog").withQuantity(3).build());
+
+        // THEN
+        assertEquals(BigDecimal.valueOf(60L), response.getPrice());
+        assertEquals(3, response.getQuantity());
+    }
+
+    @Test
+    public void getMarketPrice_registeredButNotListed_throwsNonExistentStockException() {
+        // GIVEN
+        registry.register(new Stock("goog", "Google"));
+
+        // WHEN + THEN
+        assertThrows(NonExistentStockException.class, () -> exchange.getMarketPrice("goog"));
+    }
+
+    @Test
+    public void list_thousandsOfStocks_registersAndPricesEach() throws NonExistentStockException {
+        // GIVEN
+        int stocks = 5_000;
+
+        // WHEN
+        for (int i = 0; i < stocks; i++) {
+            exchange.list(new Stock("sym" + i, "Stock " + i), BigDecimal.valueOf(i));
+        }
+        exchange.list(new Stock("sym7", "Stock 7"), BigDecimal.valueOf(70L));
+
+        // THEN
+        assertEquals(stocks + 3, registry.size());
+        assertEquals("Stock 4999", registry.getStock(registry.findId("sym4999")).getName());
+        assertEquals(BigDecimal.valueOf(4_999L), exchange.getMarketPrice("sym4999").getPrice());
+        assertEquals(BigDecimal.valueOf(70L), exchange.getMarketPrice("sym7").getPrice());
+        assertThrows(IllegalArgumentException.class, () -> registry.getStock(stocks + 3));
+    }
+
+    @Test
+    public void register_sameSymbolTwice_returnsSameIdAndFirstStock() {
+        // GIVEN
+        Stock first = new Stock("goog", "Google");
+
+        // WHEN
+        int firstId = registry.register(first);
+        int secondId = registry.register(new Stock("goog", "Alphabet"));
+
+        // THEN
+        assertEquals(firstId, secondId);
+        assertSame(first, registry.intern(new Stock("goog", "Alphabet")));
+        assertEquals(firstId, registry.findId("goog"));
+        assertEquals(SymbolRegistry.NOT_FOUND, registry.findId("missing"));
+        assertEquals(4, registry.size());
+    }
+
+    @Test
+    public void bidAll_mixedOrders_returnsResultPerOrderWithoutAborting() {
+        // GIVEN
+        List<BuyStockRequest> requests = Arrays.asList(
+            BuyStockRequest.builder().withSymbol("amzn").withQuantity(2).build(),
+            BuyStockRequest.builder().withSymbol("goog").withQuantity(1).build(),
+            null,
+            BuyStockRequest.builder().withSymbol("wfm").withQuantity(1).build(),
+            BuyStockRequest.builder().withSymbol("amzn").withQuantity(3).build());
+
+        // WHEN
+        List<OrderResult<BuyStockResponse>> results = exchange.bidAll(requests);
+
+        // THEN
+        assertEquals(5, results.size());
+        assertEquals(BigDecimal.valueOf(2_000L), results.get(0).getResponse().getPrice());
+        assertTrue(results.get(1).getException() instanceof NonExistentStockException);
+        assertTrue(results.get(2).getException() instanceof IllegalArgumentException);
+        assertTrue(results.get(3).isSuccessful());
+        assertNull(results.get(3).getResponse());
+        assertEquals(BigDecimal.valueOf(3_000L), results.get(4).getResponse().getPrice());
+    }
+
+    @Test
+    public void offerAll_matchesSingleOffers() throws NonExistentStockException {
+        // GIVEN
+        SellStockRequest request = SellStockRequest.builder().withSymbol("amzn").withQuantity(4).build();
+
+        // WHEN
+        List<OrderResult<SellStockResponse>> results = exchange.offerAll(Arrays.asList(request,
+            SellStockRequest.builder().withSymbol("goog").withQuantity(1).build()));
+
+        // THEN
+        assertEquals(exchange.offer(request).getPrice(), results.get(0).getResponse().getPrice());
+        assertEquals(4, results.get(0).getResponse().getQuantity());
+        assertFalse(results.get(1).isSuccessful());
+    }
+
+    @Test
+    public void bidAll_matchesSingleBids() throws NonExistentStockException {
+        // GIVEN
+        BuyStockRequest request = BuyStockRequest.builder().withSymbol("amzn").withQuantity(4).build();
+
+        // WHEN
+        List<OrderResult<BuyStockResponse>> results = exchange.bidAll(Arrays.asList(request,
+            BuyStockRequest.builder().withSymbol("goog").withQuantity(1).build()));
+
+        // THEN
+        assertEquals(exchange.bid(request).getPrice(), results.get(0).getResponse().getPrice());
+        assertEquals(4, results.get(0).getResponse().getQuantity());
+        assertFalse(results.get(1).isSuccessful());
+    }
+}
@@ -0,0 +1,147 @@
+package com.amazon.ata.optionals.nullchecks;
+
+import com.amazon.ata.optionals.nullchecks.dao.AuthorDao;
+import com.amazon.ata.optionals.nullchecks.models.Author;
+import com.amazon.ata.optionals.nullchecks.models.Book;
+import com.amazon.ata.optionals.nullchecks.models.Printing;
+import com.amazon.ata.optionals.nullchecks.models.PrintingType;
+import com.amazon.ata.optionals.nullchecks.models.Publisher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the null-check implementation of
+ * GetPublisherOfBestRatedPaperbackForAuthorActivity and the model methods it
+ * calls. OptionalsBenchmark builds the same catalog from the same seed, so the two
+ * benchmarks' results can be compared line by line.
+ *
+ * Run with `./gradlew jmh`. The gc profiler is enabled in build.gradle, so
+ * results include allocation rates (gc.alloc.rate.norm is bytes per call).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class NullChecksBenchmark {
+    private static final int PUBLISHERS = 200;
+    private static final long SEED = 42L;
+
+    @Param({"1000"})
+    private int authors;
+
+    @Param({"20"})
+    private int booksPerAuthor;
+
+    @Param({"12"})
+    private int printingsPerBook;
+
+    @Param({"50"})
+    private int ratingsPerBook;
+
+    private GetPublisherOfBestRatedPaperbackForAuthorActivity activity;
+    private String[] authorNames;
+    private Author[] authorArray;
+    private Book[] bookArray;
+    private int nextAuthor;
+    private int nextBook;
+    private int nextStarRating;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        PrintingType[] printingTypes = PrintingType.values();
+        Publisher[] publishers = new Publisher[PUBLISHERS];
+        for (int i = 0; i < PUBLISHERS; i++) {
+            publishers[i] = new Publisher("publisher-" + i, "Publisher " + i, "contact-" + i);
+        }
+
+        Map<String, Author> authorByName = new HashMap<>();
+        authorNames = new String[authors];
+        authorArray = new Author[authors];
+        bookArray = new Book[authors * booksPerAuthor];
+        for (int a = 0; a < authors; a++) {
+            List<Book> books = new ArrayList<>();
+            for (int b = 0; b < booksPerAuthor; b++) {
+                List<Printing> printings = new ArrayList<>();
+                for (int p = 0; p < printingsPerBook; p++) {
+                    // Roughly one printing in ten is self-published
+                    Publisher publisher = random.nextInt(10) == 0 ? null : publishers[random.nextInt(PUBLISHERS)];
+                    printings.add(new Printing(printingTypes[random.nextInt(printingTypes.length)], publisher,
+                        new Date(random.nextInt(Integer.MAX_VALUE) * 1000L)));
+                }
+                Book book = new Book("isbn-" + a + "-" + b, "Title " + b, printings, ratings(random));
+                books.add(book);
+                bookArray[a * booksPerAuthor + b] = book;
+            }
+            authorNames[a] = "author-" + a;
+            authorArray[a] = new Author(authorNames[a], "id-" + a, new ArrayList<>(), books);
+            authorByName.put(authorNames[a], authorArray[a]);
+        }
+        activity = new GetPublisherOfBestRatedPaperbackForAuthorActivity(new AuthorDao(authorByName));
+    }
+
+    private List<Integer> ratings(Random random) {
+        // Roughly one book in ten has no ratings yet
+        int count = random.nextInt(10) == 0 ? 0 : ratingsPerBook;
+        List<Integer> ratings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ratings.add(1 + random.nextInt(5));
+        }
+        return ratings;
+    }
+
+    private int nextAuthor() {
+        nextAuthor = nextAuthor + 1 == authorArray.length ? 0 : nextAuthor + 1;
+        return nextAuthor;
+    }
+
+    private int nextBook() {
+        nextBook = nextBook + 1 == bookArray.length ? 0 : nextBook + 1;
+        return nextBook;
+    }
+
+    private int nextStarRating() {
+        nextStarRating = nextStarRating == 5 ? 1 : nextStarRating + 1;
+        return nextStarRating;
+    }
+
+    @Benchmark
+    public Publisher handleRequest() {
+        return activity.handleRequest(authorNames[nextAuthor()]);
+    }
+
+    @Benchmark
+    public Book getBestRatedBook() {
+        return authorArray[nextAuthor()].getBestRatedBook();
+    }
+
+    @Benchmark
+    public Printing getPaperback() {
+        return bookArray[nextBook()].getPaperback();
+    }
+
+    /**
+     * Adds a rating before reading the weighted rating. The rating is cached
+     * between ratings, so reading it alone would only measure a field read.
+     */
+    @Benchmark
+    public Double getWeightedRating() {
+        Book book = bookArray[nextBook()];
+        book.addRating(nextStarRating());
+        return book.getWeightedRating();
+    }
+}
@@ -0,0 +1,117 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how well AuthorDao reads hold up while a background writer
+ * updates authors. Compare the reader throughput of the readOnly group with
+ * the read method of the readWhileWriting group: the gap is what writes cost
+ * readers.
+ *
+ * daoType "snapshot" is ConcurrentAuthorDao; "snapshotWithPublisherIndex" is
+ * ConcurrentAuthorDao maintaining its publisher index, so each write also
+ * updates the index; "concurrentHashMap" is a plain AuthorDao over a
+ * ConcurrentHashMap, written to directly, as a baseline.
+ *
+ * Run with `./gradlew jmh`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AuthorDaoContentionBenchmark {
+    @Param({"snapshot", "snapshotWithPublisherIndex", "concurrentHashMap"})
+    private String daoType;
+
+    @Param({"1000", "100000"})
+    private int authors;
+
+    private AuthorDao authorDao;
+    private ConcurrentAuthorDao concurrentAuthorDao;
+    private Map<String, Author> concurrentMap;
+    private String[] authorNames;
+    private Author[] replacementAuthors;
+
+    @Setup
+    public void setup() {
+        Map<String, Author> authorByName = new HashMap<>();
+        authorNames = new String[authors];
+        replacementAuthors = new Author[authors];
+        for (int a = 0; a < authors; a++) {
+            authorNames[a] = "author-" + a;
+            authorByName.put(authorNames[a], author(authorNames[a], 4));
+            replacementAuthors[a] = author(authorNames[a], 5);
+        }
+
+        if (daoType.startsWith("snapshot")) {
+            concurrentAuthorDao = new ConcurrentAuthorDao(authorByName, "snapshotWithPublisherIndex".equals(daoType));
+            authorDao = concurrentAuthorDao;
+        } else {
+            concurrentMap = new ConcurrentHashMap<>(authorByName);
+            authorDao = new AuthorDao(concurrentMap);
+        }
+    }
+
+    private static Author author(String name, int rating) {
+        List<Book> books = new ArrayList<>();
+        books.add(new Book(name + "-isbn", "Title", new ArrayList<>(), List.of(rating)));
+        return new Author(name, name + "-id", new ArrayList<>(), books);
+    }
+
+    /**
+     * Each thread walks the names from its own position.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next(int size) {
+            next = next + 1 == size ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(8)
+    public Optional<Author> readOnly(Cursor cursor) {
+        return authorDao.findAuthorByName(authorNames[cursor.next(authors)]);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(7)
+    public Optional<Author> read(Cursor cursor) {
+        return authorDao.findAuthorByName(authorNames[cursor.next(authors)]);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public Optional<Author> write(Cursor cursor) {
+        int index = cursor.next(authors);
+        if (concurrentAuthorDao != null) {
+            return concurrentAuthorDao.upsert(authorNames[index], replacementAuthors[index]);
+        }
+        return Optional.ofNullable(concurrentMap.put(authorNames[index], replacementAuthors[index]));
+    }
+}
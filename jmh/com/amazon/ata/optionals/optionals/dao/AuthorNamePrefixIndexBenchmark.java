@@ -0,0 +1,75 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures autocomplete lookups against AuthorNamePrefixIndex over a large
+ * catalog. Short prefixes match a large share of all names, so they show the
+ * cost of ranking a wide range; longer prefixes show the binary search alone.
+ *
+ * Run with `./gradlew jmh`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AuthorNamePrefixIndexBenchmark {
+    private static final long SEED = 42L;
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    private int names;
+
+    @Param({"1", "3", "6"})
+    private int prefixLength;
+
+    private AuthorNamePrefixIndex index;
+    private String[] prefixes;
+    private int nextPrefix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        Map<String, Author> authorByName = new HashMap<>();
+        List<String> nameList = new ArrayList<>();
+        for (int i = 0; i < names; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int c = 0; c < 8; c++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            name.append(' ').append(i);
+            List<Book> books = new ArrayList<>();
+            books.add(new Book("isbn-" + i, "Title", new ArrayList<>(), List.of(1 + random.nextInt(5))));
+            authorByName.put(name.toString(), new Author(name.toString(), "id-" + i, new ArrayList<>(), books));
+            nameList.add(name.toString());
+        }
+        index = new AuthorNamePrefixIndex(authorByName);
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = nameList.get(random.nextInt(nameList.size())).substring(0, prefixLength).toUpperCase();
+        }
+    }
+
+    @Benchmark
+    public List<String> findTopMatches() {
+        nextPrefix = (nextPrefix + 1) & (prefixes.length - 1);
+        return index.findTopMatches(prefixes[nextPrefix], LIMIT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.amazon.ata.optionals.nullchecks;
 
 import com.amazon.ata.optionals.nullchecks.dao.AuthorDao;
+import com.amazon.ata.optionals.nullchecks.dao.BestRatedPaperbackPublisherIndex;
 import com.amazon.ata.optionals.nullchecks.models.Author;
 import com.amazon.ata.optionals.nullchecks.models.Book;
 import com.amazon.ata.optionals.nullchecks.models.Printing;
@@ -28,6 +29,11 @@ public class GetPublisherOfBestRatedPaperbackForAuthorActivity {
             throw new IllegalArgumentException("Author name must not be null!");
         }
 
+        BestRatedPaperbackPublisherIndex publisherIndex = authorDao.getPublisherIndex();
+        if (publisherIndex != null) {
+            return publisherIndex.findPublisherByAuthorName(authorName);
+        }
+
         // Since none of these fields are required, calling this in a chain is very likely to throw an NPE
         // authorDao.findAuthorByName(name).getBestRatedBook().getPaperback().getPublisher().getId();
 
@@ -6,9 +6,23 @@ import java.util.Map;
 
 public class AuthorDao {
     private final Map<String, Author> authorByName;
+    private volatile BestRatedPaperbackPublisherIndex publisherIndex;
 
     public AuthorDao(Map<String, Author> authorByName) {
+        this(authorByName, false);
+    }
+
+    /**
+     * Creates an AuthorDao, optionally precomputing the best-rated paperback
+     * publisher for every name in the map.
+     * @param authorByName The authors to serve, keyed by name or pseudonym.
+     * @param indexPublishers Whether to build a BestRatedPaperbackPublisherIndex now.
+     */
+    public AuthorDao(Map<String, Author> authorByName, boolean indexPublishers) {
         this.authorByName = authorByName;
+        if (indexPublishers) {
+            rebuildPublisherIndex();
+        }
     }
 
     /**
@@ -25,4 +39,21 @@ public class AuthorDao {
     public Author findAuthorByName(String name) {
         return authorByName.get(name);
     }
+
+    /**
+     * Returns the precomputed publisher index, if one has been built.
+     * @return The current publisher index, or null if none has been built.
+     */
+    public BestRatedPaperbackPublisherIndex getPublisherIndex() {
+        return publisherIndex;
+    }
+
+    /**
+     * Recomputes the publisher index from the current contents of the author
+     * map, enabling it if it wasn't already. Call this whenever the map changes.
+     * Readers keep using the old index until the new one is fully built.
+     */
+    public void rebuildPublisherIndex() {
+        publisherIndex = new BestRatedPaperbackPublisherIndex(authorByName);
+    }
 }
@@ -0,0 +1,65 @@
+package com.amazon.ata.optionals.nullchecks.dao;
+
+import com.amazon.ata.optionals.nullchecks.models.Author;
+import com.amazon.ata.optionals.nullchecks.models.Book;
+import com.amazon.ata.optionals.nullchecks.models.Printing;
+import com.amazon.ata.optionals.nullchecks.models.Publisher;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed answers to "who published the latest paperback of this
+ * author's best-rated book?", keyed by every name the AuthorDao resolves.
+ *
+ * The index is a snapshot of the author map at the time it was built. If
+ * the map changes, call {@link AuthorDao#rebuildPublisherIndex()} to pick up
+ * the changes.
+ */
+public class BestRatedPaperbackPublisherIndex {
+    private final Map<String, Publisher> publisherByAuthorName;
+
+    /**
+     * Walks every author in the map once and records the publisher of the
+     * latest paperback of their best-rated book. Names without an answer are
+     * not stored.
+     * @param authorByName The authors to index, keyed by name or pseudonym.
+     */
+    public BestRatedPaperbackPublisherIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        publisherByAuthorName = new HashMap<>();
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            Publisher publisher = findPublisher(entry.getValue());
+            if (publisher != null) {
+                publisherByAuthorName.put(entry.getKey(), publisher);
+            }
+        }
+    }
+
+    /**
+     * Looks up the precomputed publisher for this name.
+     * @param authorName The name of the author to search for.
+     * @return The publisher of the latest paperback version of the named
+     * author's highest-rated book, if any; null otherwise.
+     */
+    public Publisher findPublisherByAuthorName(String authorName) {
+        return publisherByAuthorName.get(authorName);
+    }
+
+    private static Publisher findPublisher(Author author) {
+        if (author != null) {
+            Book bestRatedBook = author.getBestRatedBook();
+            if (bestRatedBook != null) {
+                Printing paperback = bestRatedBook.getPaperback();
+                if (paperback != null) {
+                    return paperback.getPublisher();
+                }
+            }
+        }
+
+        return null;
+    }
+}
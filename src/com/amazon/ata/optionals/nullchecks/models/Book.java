@@ -1,14 +1,22 @@
 package com.amazon.ata.optionals.nullchecks.models;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.IntSummaryStatistics;
+import java.util.Collections;
 import java.util.List;
 
 public class Book {
+    public static final int MIN_STAR_RATING = 1;
+    public static final int MAX_STAR_RATING = 5;
+
     private final String isbn;
     private final String title;
     private final List<Printing> printings;
-    private final List<Integer> starRatings;
+    private final PrintingIndex printingIndex;
+    private final long[] starRatingCounts = new long[MAX_STAR_RATING + 1];
+    private long starRatingTotal;
+    private long starRatingCount;
+    private volatile Double weightedRating;
 
     public Book(String isbn, String title, List<Printing> printings, List<Integer> starRatings) {
         if (isbn == null) {
@@ -29,8 +37,15 @@ public class Book {
 
         this.isbn = isbn;
         this.title = title;
-        this.printings = new ArrayList<>(printings);
-        this.starRatings = new ArrayList<>(starRatings);
+        this.printings = Collections.unmodifiableList(new ArrayList<>(printings));
+        this.printingIndex = new PrintingIndex(this.printings);
+        for (Integer starRating : starRatings) {
+            if (starRating == null) {
+                throw new IllegalArgumentException("Book must not have null star ratings!");
+            }
+            countStarRating(starRating);
+        }
+        this.weightedRating = computeWeightedRating();
     }
 
     public String getIsbn() {
@@ -41,12 +56,63 @@ public class Book {
         return title;
     }
 
+    /**
+     * Returns a copy of this book's printings that the caller is free to modify.
+     * Use getPrintingsView() if you only need to read them.
+     * @return A new list containing the book's printings.
+     */
     public List<Printing> getPrintings() {
         return new ArrayList<>(printings);
     }
 
-    public List<Integer> getStarRatings() {
-        return new ArrayList<>(starRatings);
+    /**
+     * Returns a read-only view of this book's printings without copying them.
+     * @return An unmodifiable list of the book's printings.
+     */
+    public List<Printing> getPrintingsView() {
+        return printings;
+    }
+
+    /**
+     * Returns every star rating left for this book, in ascending order.
+     * @return A new list containing the book's star ratings.
+     */
+    public synchronized List<Integer> getStarRatings() {
+        List<Integer> starRatings = new ArrayList<>((int) starRatingCount);
+        for (int stars = MIN_STAR_RATING; stars <= MAX_STAR_RATING; stars++) {
+            for (long i = 0; i < starRatingCounts[stars]; i++) {
+                starRatings.add(stars);
+            }
+        }
+        return starRatings;
+    }
+
+    /**
+     * Returns how many ratings of exactly this many stars have been left.
+     * @param stars The star rating to count, from MIN_STAR_RATING to MAX_STAR_RATING.
+     * @return The number of ratings with this many stars.
+     */
+    public synchronized long getStarRatingCount(int stars) {
+        validateStarRating(stars);
+        return starRatingCounts[stars];
+    }
+
+    /**
+     * Returns the total number of ratings left for this book.
+     * @return The number of ratings.
+     */
+    public synchronized long getStarRatingCount() {
+        return starRatingCount;
+    }
+
+    /**
+     * Records a new star rating for this book. Updates the weighted rating in
+     * constant time, without revisiting earlier ratings.
+     * @param starRating The rating left, from MIN_STAR_RATING to MAX_STAR_RATING.
+     */
+    public synchronized void addRating(int starRating) {
+        countStarRating(starRating);
+        weightedRating = computeWeightedRating();
     }
 
     /**
@@ -57,20 +123,13 @@ public class Book {
      * verified reviewers, and uses a root-mean-square algorithm to calculate
      * a weighted star rating.
      *
-     * This implementation, however, just averages a list of ratings.
+     * This implementation, however, just averages the ratings. The average is
+     * kept up to date as ratings are added, so this call does no work.
      * @return a Double of the book's weighted star rating, or null if no
      * ratings have been left.
      */
     public Double getWeightedRating() {
-        IntSummaryStatistics statistics = starRatings.stream()
-            .mapToInt(Integer::intValue)
-            .summaryStatistics();
-
-        if (statistics.getCount() == 0) {
-            return null;
-        } else {
-            return statistics.getAverage();
-        }
+        return weightedRating;
     }
 
     /**
@@ -79,15 +138,56 @@ public class Book {
      * hasn't been printed in paperback.
      */
     public Printing getPaperback() {
-        Printing latestPaperback = null;
-        for (Printing printing : printings) {
-            if (printing.getPrintingType() == PrintingType.PAPERBACK) {
-                if (latestPaperback == null ||
-                    latestPaperback.getPrintDate().before(printing.getPrintDate())) {
-                    latestPaperback = printing;
-                }
-            }
+        return getLatestPrinting(PrintingType.PAPERBACK);
+    }
+
+    /**
+     * Returns the latest printing of the book of the given type. If several
+     * printings share the latest date, returns the first one in the printings list.
+     * @param printingType The type of printing to search for.
+     * @return the latest printing of that type, or null if the book hasn't
+     * been printed that way.
+     */
+    public Printing getLatestPrinting(PrintingType printingType) {
+        if (printingType == null) {
+            throw new IllegalArgumentException("Printing type must not be null!");
+        }
+        return printingIndex.getLatest(printingType);
+    }
+
+    /**
+     * Returns the printings of the book of the given type that were printed
+     * at or after from and before to, oldest first.
+     * @param printingType The type of printing to search for.
+     * @param from The earliest print date to include.
+     * @param to The print date to stop before.
+     * @return An unmodifiable list of the matching printings.
+     */
+    public List<Printing> getPrintingsBetween(PrintingType printingType, Instant from, Instant to) {
+        if (printingType == null || from == null || to == null) {
+            throw new IllegalArgumentException("Printing type and date range must not be null!");
+        }
+        return printingIndex.getBetween(printingType, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    private static void validateStarRating(int starRating) {
+        if (starRating < MIN_STAR_RATING || starRating > MAX_STAR_RATING) {
+            throw new IllegalArgumentException(String.format("Star rating must be between %d and %d, but was %d!",
+                MIN_STAR_RATING, MAX_STAR_RATING, starRating));
+        }
+    }
+
+    private void countStarRating(int starRating) {
+        validateStarRating(starRating);
+        starRatingCounts[starRating]++;
+        starRatingTotal += starRating;
+        starRatingCount++;
+    }
+
+    private Double computeWeightedRating() {
+        if (starRatingCount == 0) {
+            return null;
         }
-        return latestPaperback;
+        return (double) starRatingTotal / starRatingCount;
     }
 }
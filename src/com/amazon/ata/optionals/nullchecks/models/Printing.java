@@ -1,5 +1,6 @@
 package com.amazon.ata.optionals.nullchecks.models;
 
+import java.time.Instant;
 import java.util.Date;
 
 /**
@@ -9,12 +10,12 @@ import java.util.Date;
 public class Printing {
     private final PrintingType printingType;
     private final Publisher publisher;
-    private final Date printDate;
+    private final Instant printDate;
 
     public Printing(PrintingType printingType, Publisher publisher, Date printDate) {
         this.printingType = printingType;
         this.publisher = publisher;
-        this.printDate = new Date(printDate.getTime());
+        this.printDate = Instant.ofEpochMilli(printDate.getTime());
     }
 
     public PrintingType getPrintingType() {
@@ -25,7 +26,21 @@ public class Printing {
         return publisher;
     }
 
+    /**
+     * Returns a copy of the print date that the caller is free to modify.
+     * Prefer getPrintInstant() or getPrintDateMillis() on hot paths, since
+     * they don't allocate.
+     * @return A new Date holding the print date.
+     */
     public Date getPrintDate() {
-        return new Date(printDate.getTime());
+        return Date.from(printDate);
+    }
+
+    public Instant getPrintInstant() {
+        return printDate;
+    }
+
+    public long getPrintDateMillis() {
+        return printDate.toEpochMilli();
     }
 }
@@ -0,0 +1,81 @@
+package com.amazon.ata.optionals.nullchecks.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A book's printings grouped by PrintingType, each group sorted by print
+ * date, so the latest printing of a type or the printings in a date range can
+ * be found by binary search instead of scanning every printing.
+ */
+class PrintingIndex {
+    private final Map<PrintingType, List<Printing>> printingsByType = new EnumMap<>(PrintingType.class);
+    private final Map<PrintingType, long[]> printDatesByType = new EnumMap<>(PrintingType.class);
+
+    PrintingIndex(List<Printing> printings) {
+        Map<PrintingType, List<Printing>> grouped = new EnumMap<>(PrintingType.class);
+        for (Printing printing : printings) {
+            if (printing.getPrintingType() != null) {
+                grouped.computeIfAbsent(printing.getPrintingType(), unused -> new ArrayList<>()).add(printing);
+            }
+        }
+
+        for (Map.Entry<PrintingType, List<Printing>> entry : grouped.entrySet()) {
+            List<Printing> sorted = entry.getValue();
+            // List.sort is stable, so printings with equal dates keep their original order
+            sorted.sort(Comparator.comparingLong(Printing::getPrintDateMillis));
+            long[] printDates = new long[sorted.size()];
+            for (int i = 0; i < printDates.length; i++) {
+                printDates[i] = sorted.get(i).getPrintDateMillis();
+            }
+            printingsByType.put(entry.getKey(), Collections.unmodifiableList(sorted));
+            printDatesByType.put(entry.getKey(), printDates);
+        }
+    }
+
+    /**
+     * Returns the latest printing of this type. If several share the latest
+     * date, returns the one that came first in the book's printing list.
+     */
+    Printing getLatest(PrintingType printingType) {
+        long[] printDates = printDatesByType.get(printingType);
+        if (printDates == null) {
+            return null;
+        }
+        return printingsByType.get(printingType).get(lowerBound(printDates, printDates[printDates.length - 1]));
+    }
+
+    /**
+     * Returns the printings of this type printed at or after fromMillis and
+     * before toMillis, oldest first, as a view into the index.
+     */
+    List<Printing> getBetween(PrintingType printingType, long fromMillis, long toMillis) {
+        long[] printDates = printDatesByType.get(printingType);
+        if (printDates == null || fromMillis >= toMillis) {
+            return Collections.emptyList();
+        }
+        return printingsByType.get(printingType)
+            .subList(lowerBound(printDates, fromMillis), lowerBound(printDates, toMillis));
+    }
+
+    /**
+     * Finds the first index whose value is at least key, or values.length if none is.
+     */
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -1,5 +1,10 @@
 package com.amazon.ata.optionals.nullchecks.models;
 
+/**
+ * A company that publishes printings of books. Publishers are identified by
+ * their id: two Publishers with the same id are equal. A Publisher without an
+ * id is only equal to itself, so publishers missing ids are never merged.
+ */
 public class Publisher {
     private final String id;
     private final String name;
@@ -22,4 +27,23 @@ public class Publisher {
     public String getContact() {
         return contact;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Publisher publisher = (Publisher) o;
+        return id != null && id.equals(publisher.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id == null ? System.identityHashCode(this) : id.hashCode();
+    }
 }
@@ -0,0 +1,78 @@
+package com.amazon.ata.optionals.optionals;
+
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The publisher of the latest paperback of each author's best-rated book,
+ * for every author in the catalog, and how many authors each publisher
+ * covers. Authors known by several names or pseudonyms are counted once.
+ */
+public class BestRatedPaperbackPublisherReport {
+    private final int authorCount;
+    private final Map<String, Publisher> publisherByAuthorName;
+    private final Map<Publisher, Long> authorCountByPublisher;
+
+    public BestRatedPaperbackPublisherReport(int authorCount, Map<String, Publisher> publisherByAuthorName,
+                                             Map<Publisher, Long> authorCountByPublisher) {
+        this.authorCount = authorCount;
+        this.publisherByAuthorName = Collections.unmodifiableMap(publisherByAuthorName);
+        this.authorCountByPublisher = Collections.unmodifiableMap(authorCountByPublisher);
+    }
+
+    /**
+     * Returns how many distinct authors the report covered, including those
+     * without a publisher. An author known by several names counts once.
+     * @return The number of authors examined.
+     */
+    public int getAuthorCount() {
+        return authorCount;
+    }
+
+    /**
+     * Finds the publisher of the named author's best-rated paperback.
+     * @param authorName The name of the author to search for.
+     * @return An Optional containing the publisher, if the author had one.
+     */
+    public Optional<Publisher> getPublisher(String authorName) {
+        return Optional.ofNullable(publisherByAuthorName.get(authorName));
+    }
+
+    /**
+     * Returns the publishers found, keyed by every name and pseudonym that
+     * resolved to an author with one. Authors without a publisher are not included.
+     * @return An unmodifiable map from author name to publisher.
+     */
+    public Map<String, Publisher> getPublisherByAuthorName() {
+        return publisherByAuthorName;
+    }
+
+    /**
+     * Returns how many distinct authors' best-rated paperbacks each publisher published.
+     * @return An unmodifiable map from publisher to author count.
+     */
+    public Map<Publisher, Long> getAuthorCountByPublisher() {
+        return authorCountByPublisher;
+    }
+
+    /**
+     * Returns the publishers of the most authors' best-rated paperbacks,
+     * most first. Ties are broken by publisher id.
+     * @param limit The most publishers to return.
+     * @return Up to limit publishers.
+     */
+    public List<Publisher> getTopPublishers(int limit) {
+        return authorCountByPublisher.entrySet().stream()
+            .sorted(Comparator.comparing(Map.Entry<Publisher, Long>::getValue).reversed()
+                .thenComparing(entry -> entry.getKey().getId(), Comparator.nullsLast(Comparator.naturalOrder())))
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+}
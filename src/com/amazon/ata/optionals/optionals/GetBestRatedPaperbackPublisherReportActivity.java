@@ -0,0 +1,90 @@
+package com.amazon.ata.optionals.optionals;
+
+import com.amazon.ata.optionals.optionals.dao.AuthorDao;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class GetBestRatedPaperbackPublisherReportActivity {
+    private final AuthorDao authorDao;
+    private final GetPublisherOfBestRatedPaperbackForAuthorActivity publisherActivity;
+    private final ForkJoinPool forkJoinPool;
+
+    public GetBestRatedPaperbackPublisherReportActivity(AuthorDao authorDao) {
+        this(authorDao, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an activity whose reports run on the given pool, so a large
+     * report doesn't compete with other users of the common pool.
+     * @param authorDao The DAO whose authors are reported on.
+     * @param forkJoinPool The pool to split the work across.
+     */
+    public GetBestRatedPaperbackPublisherReportActivity(AuthorDao authorDao, ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("Fork/join pool must not be null!");
+        }
+
+        this.authorDao = authorDao;
+        this.publisherActivity = new GetPublisherOfBestRatedPaperbackForAuthorActivity(authorDao);
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Finds the publisher of the latest paperback of the best-rated book for
+     * every author in the DAO, then counts authors per publisher. An author
+     * reachable under several names or pseudonyms is looked up and counted
+     * once. Authors are split across the fork/join pool's threads. Each name
+     * is looked up in the DAO once, and each author is then handled exactly
+     * as GetPublisherOfBestRatedPaperbackForAuthorActivity would handle it.
+     * @return The catalog-wide report.
+     */
+    public BestRatedPaperbackPublisherReport handleRequest() {
+        List<String> authorNames = new ArrayList<>(authorDao.getAuthorNames());
+
+        // A parallel stream started from inside a fork/join task runs on that task's pool
+        return forkJoinPool.submit(() -> {
+            List<Map.Entry<String, Optional<Author>>> authorByName = authorNames.parallelStream()
+                .map(name -> new AbstractMap.SimpleImmutableEntry<>(name, authorDao.findAuthorByName(name)))
+                .collect(Collectors.toList());
+
+            // Authors are compared by identity, since Author doesn't define equals
+            Set<Author> authors = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Map.Entry<String, Optional<Author>> entry : authorByName) {
+                entry.getValue().ifPresent(authors::add);
+            }
+
+            Map<Author, Publisher> publisherByAuthor = authors.parallelStream()
+                .map(author -> new AbstractMap.SimpleImmutableEntry<>(author, publisherActivity.handleRequest(author)))
+                .filter(entry -> entry.getValue().isPresent())
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(),
+                    (first, second) -> first, IdentityHashMap::new));
+
+            Map<String, Publisher> publisherByAuthorName = new HashMap<>();
+            for (Map.Entry<String, Optional<Author>> entry : authorByName) {
+                Publisher publisher = entry.getValue().map(publisherByAuthor::get).orElse(null);
+                if (publisher != null) {
+                    publisherByAuthorName.put(entry.getKey(), publisher);
+                }
+            }
+
+            Map<Publisher, Long> authorCountByPublisher = publisherByAuthor.values().parallelStream()
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()));
+
+            return new BestRatedPaperbackPublisherReport(authors.size(), publisherByAuthorName,
+                authorCountByPublisher);
+        }).join();
+    }
+}
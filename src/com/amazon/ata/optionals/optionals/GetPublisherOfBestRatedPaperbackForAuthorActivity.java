@@ -1,15 +1,79 @@
 package com.amazon.ata.optionals.optionals;
 
 import com.amazon.ata.optionals.optionals.dao.AuthorDao;
+import com.amazon.ata.optionals.optionals.dao.BestRatedPaperbackPublisherIndex;
+import com.amazon.ata.optionals.optionals.metrics.ActivityMetrics;
+import com.amazon.ata.optionals.optionals.metrics.ActivityStep;
+import com.amazon.ata.optionals.optionals.metrics.EmptyResultReason;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
 import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.RatingStrategy;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class GetPublisherOfBestRatedPaperbackForAuthorActivity {
+    private static final int DEFAULT_ASYNC_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1_024;
+    private static final ExecutorService DEFAULT_ASYNC_EXECUTOR = newDefaultAsyncExecutor();
+
     private final AuthorDao authorDao;
+    private final ExecutorService asyncExecutor;
+    private final ActivityMetrics metrics;
 
     public GetPublisherOfBestRatedPaperbackForAuthorActivity(AuthorDao authorDao) {
+        this(authorDao, DEFAULT_ASYNC_EXECUTOR, ActivityMetrics.disabled());
+    }
+
+    public GetPublisherOfBestRatedPaperbackForAuthorActivity(AuthorDao authorDao, ActivityMetrics metrics) {
+        this(authorDao, DEFAULT_ASYNC_EXECUTOR, metrics);
+    }
+
+    public GetPublisherOfBestRatedPaperbackForAuthorActivity(AuthorDao authorDao, ExecutorService asyncExecutor) {
+        this(authorDao, asyncExecutor, ActivityMetrics.disabled());
+    }
+
+    /**
+     * Creates an activity whose async requests run on the given executor.
+     * Each request runs as its own task, so an executor that starts a thread
+     * per task gives every request its own thread. Without an executor, async
+     * requests share a pool with one daemon thread per processor and room for
+     * 1,024 queued requests; requests beyond that fail with a
+     * RejectedExecutionException rather than starting more threads.
+     * @param authorDao The DAO to look authors up in.
+     * @param asyncExecutor The executor to run async requests on.
+     * @param metrics Where handleRequest records latencies and empty-result reasons.
+     */
+    public GetPublisherOfBestRatedPaperbackForAuthorActivity(AuthorDao authorDao, ExecutorService asyncExecutor,
+                                                             ActivityMetrics metrics) {
+        if (asyncExecutor == null) {
+            throw new IllegalArgumentException("Async executor must not be null!");
+        }
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics must not be null!");
+        }
         this.authorDao = authorDao;
+        this.asyncExecutor = asyncExecutor;
+        this.metrics = metrics;
+    }
+
+    public ActivityMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -26,25 +90,279 @@ public class GetPublisherOfBestRatedPaperbackForAuthorActivity {
         if (authorName == null) {
             throw new IllegalArgumentException("Author must not be null!");
         }
+        if (metrics.isEnabled()) {
+            return handleRequestWithMetrics(authorName);
+        }
+
+        Optional<BestRatedPaperbackPublisherIndex> publisherIndex = authorDao.getPublisherIndex();
+        if (publisherIndex.isPresent()) {
+            return publisherIndex.get().findPublisherByAuthorName(authorName);
+        }
+
+        return authorDao.findAuthorByName(authorName)
+            .flatMap(author -> handleRequest(author));
+    }
+
+    /**
+     * Finds the publisher of the latest paperback version of an author's
+     * highest-rated book, for a caller that has already looked the author
+     * up, so the AuthorDao isn't asked again. The publisher index and metrics
+     * are keyed by name, so this path uses neither.
+     * @param author The author to search.
+     * @return An Optional containing the publisher of the latest paperback
+     * version of the author's highest-rated book, if any.
+     */
+    public Optional<Publisher> handleRequest(Author author) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author must not be null!");
+        }
 
-        // PARTICIPANTS: Reimplement this method from
-        // `optionals.nullchecks.GetPublisherOfBestRatedPaperbackForAuthorActivity`
-        // using Optionals.
-        /* Here's the original implementation:
-        Author author = authorDao.findAuthorByName(authorName);
+        return author.getBestRatedBook()
+            .flatMap(Book::getPaperback)
+            .flatMap(Printing::getPublisher);
+    }
 
-        if (author != null) {
-            Book bestRatedBook = author.getBestRatedBook();
-            if (bestRatedBook != null) {
-                Printing paperback = bestRatedBook.getPaperback();
-                if (paperback != null) {
-                    return paperback.getPublisher();
+    /**
+     * Finds the publisher of the latest paperback version of the named
+     * author's highest-rated book, rating books with the given strategy
+     * instead of the default average. The publisher index and metrics only
+     * cover the default rating, so this path uses neither.
+     * @param authorName The name of the author to search for.
+     * @param ratingStrategy How to weigh each book's ratings.
+     * @return An Optional containing the publisher of the latest paperback
+     * version of the named author's highest-rated book, if any.
+     */
+    public Optional<Publisher> handleRequest(String authorName, RatingStrategy ratingStrategy) {
+        if (authorName == null) {
+            throw new IllegalArgumentException("Author must not be null!");
+        }
+        if (ratingStrategy == null) {
+            throw new IllegalArgumentException("Rating strategy must not be null!");
+        }
+
+        return authorDao.findAuthorByName(authorName)
+            .flatMap(author -> author.getBestRatedBook(ratingStrategy))
+            .flatMap(Book::getPaperback)
+            .flatMap(Printing::getPublisher);
+    }
+
+    private Optional<Publisher> handleRequestWithMetrics(String authorName) {
+        long start = System.nanoTime();
+        Optional<Publisher> publisher;
+        EmptyResultReason emptyResultReason = null;
+
+        Optional<BestRatedPaperbackPublisherIndex> publisherIndex = authorDao.getPublisherIndex();
+        if (publisherIndex.isPresent()) {
+            publisher = publisherIndex.get().findPublisherByAuthorName(authorName);
+            metrics.recordLatency(ActivityStep.DAO_LOOKUP, System.nanoTime() - start);
+            if (!publisher.isPresent()) {
+                emptyResultReason = EmptyResultReason.NOT_IN_PUBLISHER_INDEX;
+            }
+        } else {
+            Optional<Author> author = authorDao.findAuthorByName(authorName);
+            long lookedUp = System.nanoTime();
+            metrics.recordLatency(ActivityStep.DAO_LOOKUP, lookedUp - start);
+
+            Optional<Author.BestRatedBookResult> bestRatedBook = author.map(Author::findBestRatedBook);
+            Optional<Book> book = bestRatedBook.flatMap(Author.BestRatedBookResult::getBook);
+            long rated = System.nanoTime();
+            if (author.isPresent()) {
+                metrics.recordLatency(ActivityStep.RATING, rated - lookedUp);
+            }
+
+            Optional<Printing> paperback = book.flatMap(Book::getPaperback);
+            if (book.isPresent()) {
+                metrics.recordLatency(ActivityStep.PAPERBACK_SELECTION, System.nanoTime() - rated);
+            }
+
+            publisher = paperback.flatMap(Printing::getPublisher);
+            emptyResultReason = bestRatedBook.isPresent() ?
+                findEmptyResultReason(bestRatedBook.get(), paperback, publisher) : EmptyResultReason.NO_AUTHOR;
+        }
+
+        metrics.recordLatency(ActivityStep.REQUEST, System.nanoTime() - start);
+        metrics.recordRequest(emptyResultReason);
+        return publisher;
+    }
+
+    /**
+     * Runs handleRequest on the async executor, so a slow AuthorDao doesn't
+     * block the calling thread. Cancelling the returned future removes a
+     * queued lookup from the executor and interrupts a running one. The
+     * lookup only stops early if the AuthorDao responds to interruption;
+     * otherwise it finishes on its thread and its result is discarded.
+     * @param authorName The name of the author to search for.
+     * @return A future of handleRequest's result.
+     */
+    public CompletableFuture<Optional<Publisher>> handleRequestAsync(String authorName) {
+        if (authorName == null) {
+            throw new IllegalArgumentException("Author must not be null!");
+        }
+
+        CompletableFuture<Optional<Publisher>> result = new CompletableFuture<>();
+        Future<?> lookup;
+        try {
+            lookup = asyncExecutor.submit(() -> {
+                try {
+                    result.complete(handleRequest(authorName));
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        // Whether cancelled by the caller or timed out, dequeue or interrupt the lookup
+        result.whenComplete((publisher, failure) -> {
+            if (failure != null) {
+                lookup.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs handleRequest on the async executor with a deadline. If the lookup
+     * hasn't finished in time, the future completes exceptionally with a
+     * TimeoutException and the lookup is cancelled as if the future had been.
+     * @param authorName The name of the author to search for.
+     * @param timeout How long the lookup may take.
+     * @return A future of handleRequest's result.
+     */
+    public CompletableFuture<Optional<Publisher>> handleRequestAsync(String authorName, Duration timeout) {
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be null or negative!");
+        }
+        return handleRequestAsync(authorName).orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Starts handleRequestAsync for every distinct name, each with its own
+     * deadline, so one slow name can't hold up the others. Each lookup goes
+     * through handleRequest, so metrics record it like any other request.
+     * @param authorNames The names of the authors to search for.
+     * @param timeout How long each lookup may take.
+     * @return A map from each distinct name, in iteration order, to the future of its result.
+     */
+    public Map<String, CompletableFuture<Optional<Publisher>>> handleRequestsAsync(Collection<String> authorNames,
+                                                                                 Duration timeout) {
+        if (authorNames == null) {
+            throw new IllegalArgumentException("Author names must not be null!");
+        }
+        for (String authorName : authorNames) {
+            if (authorName == null) {
+                throw new IllegalArgumentException("Author must not be null!");
+            }
+        }
+
+        Map<String, CompletableFuture<Optional<Publisher>>> publishersByName = new LinkedHashMap<>();
+        for (String authorName : authorNames) {
+            publishersByName.computeIfAbsent(authorName, name -> handleRequestAsync(name, timeout));
+        }
+        return publishersByName;
+    }
+
+    /**
+     * Finds the publisher of the latest paperback version of each named
+     * author's highest-rated book, as handleRequest would for each name.
+     * Duplicate names are resolved once, all authors are fetched in a single
+     * AuthorDao call, and work is shared between names (such as pseudonyms)
+     * that resolve to the same author or book.
+     *
+     * With metrics enabled, each distinct name is counted as a request with
+     * its empty-result reason. Latencies aren't recorded, since the names
+     * share one AuthorDao call and much of their work.
+     * @param authorNames The names of the authors to search for.
+     * @return A map from each distinct name, in iteration order, to an Optional
+     * containing the publisher of that author's best-rated paperback, if any.
+     */
+    public Map<String, Optional<Publisher>> handleRequests(Collection<String> authorNames) {
+        if (authorNames == null) {
+            throw new IllegalArgumentException("Author names must not be null!");
+        }
+        for (String authorName : authorNames) {
+            if (authorName == null) {
+                throw new IllegalArgumentException("Author must not be null!");
+            }
+        }
+
+        Map<String, Optional<Publisher>> publishersByName = new LinkedHashMap<>();
+        Optional<BestRatedPaperbackPublisherIndex> publisherIndex = authorDao.getPublisherIndex();
+        if (publisherIndex.isPresent()) {
+            for (String authorName : authorNames) {
+                if (!publishersByName.containsKey(authorName)) {
+                    Optional<Publisher> publisher = publisherIndex.get().findPublisherByAuthorName(authorName);
+                    publishersByName.put(authorName, publisher);
+                    metrics.recordRequest(publisher.isPresent() ? null : EmptyResultReason.NOT_IN_PUBLISHER_INDEX);
                 }
             }
+            return publishersByName;
+        }
+
+        Map<Author, PublisherLookup> publisherLookupByAuthor = new IdentityHashMap<>();
+        Map<Book, Optional<Publisher>> publisherByBook = new IdentityHashMap<>();
+        for (Map.Entry<String, Optional<Author>> entry : authorDao.findAuthorsByNames(authorNames).entrySet()) {
+            PublisherLookup lookup = entry.getValue()
+                .map(author -> publisherLookupByAuthor.computeIfAbsent(author,
+                    unused -> findPublisher(author, publisherByBook)))
+                .orElse(PublisherLookup.NO_AUTHOR);
+            publishersByName.put(entry.getKey(), lookup.publisher);
+            metrics.recordRequest(lookup.emptyResultReason);
+        }
+        return publishersByName;
+    }
+
+    private static ExecutorService newDefaultAsyncExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_ASYNC_THREADS, DEFAULT_ASYNC_THREADS,
+            1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(DEFAULT_ASYNC_QUEUE_CAPACITY),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("publisher-lookup-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static PublisherLookup findPublisher(Author author, Map<Book, Optional<Publisher>> publisherByBook) {
+        Author.BestRatedBookResult bestRatedBook = author.findBestRatedBook();
+        Optional<Publisher> publisher = bestRatedBook.getBook()
+            .flatMap(book -> publisherByBook.computeIfAbsent(book, unused -> book.getPaperback()
+                .flatMap(Printing::getPublisher)));
+        if (publisher.isPresent()) {
+            return new PublisherLookup(publisher, null);
         }
-        */
+        // Only empty results look at the paperback again, to say why
+        Optional<Printing> paperback = bestRatedBook.getBook().flatMap(Book::getPaperback);
+        return new PublisherLookup(publisher, findEmptyResultReason(bestRatedBook, paperback, publisher));
+    }
 
-        return Optional.empty();
+    private static EmptyResultReason findEmptyResultReason(Author.BestRatedBookResult bestRatedBook,
+                                                           Optional<Printing> paperback,
+                                                           Optional<Publisher> publisher) {
+        if (!bestRatedBook.getBook().isPresent()) {
+            return bestRatedBook.hasBooks() ? EmptyResultReason.NO_RATINGS : EmptyResultReason.NO_BOOKS;
+        }
+        if (!paperback.isPresent()) {
+            return EmptyResultReason.NO_PAPERBACK;
+        }
+        if (!publisher.isPresent()) {
+            return EmptyResultReason.NO_PUBLISHER;
+        }
+        return null;
     }
 
+    /**
+     * One author's publisher, and why there is none if so.
+     */
+    private static class PublisherLookup {
+        private static final PublisherLookup NO_AUTHOR =
+            new PublisherLookup(Optional.empty(), EmptyResultReason.NO_AUTHOR);
+
+        private final Optional<Publisher> publisher;
+        private final EmptyResultReason emptyResultReason;
+
+        PublisherLookup(Optional<Publisher> publisher, EmptyResultReason emptyResultReason) {
+            this.publisher = publisher;
+            this.emptyResultReason = emptyResultReason;
+        }
+    }
 }
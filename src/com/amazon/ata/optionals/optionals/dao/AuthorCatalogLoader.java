@@ -0,0 +1,357 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.PublisherRegistry;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the author map for an AuthorDao from a JSON-lines catalog, one
+ * author per line, without reading the whole file into memory first:
+ *
+ * <pre>
+ * {"name": "...", "id": "...", "pseudonyms": ["other author name"],
+ *  "books": [{"isbn": "...", "title": "...", "starRatings": [5, 4],
+ *             "printings": [{"printingType": "PAPERBACK", "printDate": 1262304000000,
+ *                            "publisher": {"id": "...", "name": "...", "contact": "..."}}]}]}
+ * </pre>
+ *
+ * printDate is epoch milliseconds. publisher may be null or absent for
+ * self-published printings. Pseudonyms name other authors in the same
+ * catalog, and are linked once every line has been read. Publishers are
+ * interned through a PublisherRegistry, so publishers with the same id share
+ * a single Publisher instance.
+ *
+ * A loader keeps state while loading, so use one loader per thread.
+ */
+public class AuthorCatalogLoader {
+    private final PublisherRegistry publisherRegistry;
+    private long bookCount;
+    private long printingCount;
+
+    public AuthorCatalogLoader() {
+        this(new PublisherRegistry());
+    }
+
+    /**
+     * Creates a loader that interns publishers through an existing registry,
+     * so publishers are shared with other catalogs loaded the same way.
+     * @param publisherRegistry The registry to intern publishers through.
+     */
+    public AuthorCatalogLoader(PublisherRegistry publisherRegistry) {
+        if (publisherRegistry == null) {
+            throw new IllegalArgumentException("Publisher registry must not be null!");
+        }
+        this.publisherRegistry = publisherRegistry;
+    }
+
+    /**
+     * Reads every author in the catalog.
+     * @param catalog The JSON-lines catalog to read. Not closed by this method.
+     * @return The loaded authors, keyed by name, along with load statistics.
+     * @throws IOException if the catalog can't be read or isn't valid JSON.
+     */
+    public LoadResult load(Reader catalog) throws IOException {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog must not be null!");
+        }
+
+        bookCount = 0;
+        printingCount = 0;
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startNanos = System.nanoTime();
+
+        Map<String, AuthorRecord> recordByName = new HashMap<>();
+        JsonReader reader = new JsonReader(catalog);
+        // Lenient mode accepts a stream of top-level values, one per line
+        reader.setLenient(true);
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            AuthorRecord record = readAuthor(reader);
+            if (recordByName.put(record.name, record) != null) {
+                throw new IllegalArgumentException("Catalog contains author " + record.name + " twice!");
+            }
+        }
+
+        Map<String, Author> authorByName = linkAuthors(recordByName);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+        return new LoadResult(authorByName, bookCount, printingCount, publisherRegistry.size(), elapsedNanos,
+            heapUsed);
+    }
+
+    /**
+     * Builds every Author with its pseudonyms. Pseudonyms can name each other
+     * in cycles, so each Author is given an unmodifiable view of its list, and
+     * the lists are filled once every Author exists, before any is returned.
+     */
+    private static Map<String, Author> linkAuthors(Map<String, AuthorRecord> recordByName) {
+        for (AuthorRecord record : recordByName.values()) {
+            for (String pseudonymName : record.pseudonymNames) {
+                if (!recordByName.containsKey(pseudonymName)) {
+                    throw new IllegalArgumentException(String.format("Author %s has unknown pseudonym %s!",
+                        record.name, pseudonymName));
+                }
+            }
+        }
+
+        Map<String, Author> authorByName = new HashMap<>();
+        Map<String, List<Author>> pseudonymsByName = new HashMap<>();
+        for (AuthorRecord record : recordByName.values()) {
+            List<Author> pseudonyms = new ArrayList<>(record.pseudonymNames.size());
+            pseudonymsByName.put(record.name, pseudonyms);
+            authorByName.put(record.name,
+                new Author(record.name, record.id, Collections.unmodifiableList(pseudonyms), record.books));
+        }
+        for (AuthorRecord record : recordByName.values()) {
+            List<Author> pseudonyms = pseudonymsByName.get(record.name);
+            for (String pseudonymName : record.pseudonymNames) {
+                pseudonyms.add(authorByName.get(pseudonymName));
+            }
+        }
+        return authorByName;
+    }
+
+    private AuthorRecord readAuthor(JsonReader reader) throws IOException {
+        String name = null;
+        String id = null;
+        List<String> pseudonymNames = new ArrayList<>();
+        List<Book> books = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "pseudonyms":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        pseudonymNames.add(reader.nextString());
+                    }
+                    reader.endArray();
+                    break;
+                case "books":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        books.add(readBook(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (name == null) {
+            throw new IllegalArgumentException("Catalog contains an author with no name!");
+        }
+        return new AuthorRecord(name, id, pseudonymNames, books);
+    }
+
+    private Book readBook(JsonReader reader) throws IOException {
+        String isbn = null;
+        String title = null;
+        List<Printing> printings = new ArrayList<>();
+        List<Integer> starRatings = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "isbn":
+                    isbn = reader.nextString();
+                    break;
+                case "title":
+                    title = reader.nextString();
+                    break;
+                case "starRatings":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        starRatings.add(reader.nextInt());
+                    }
+                    reader.endArray();
+                    break;
+                case "printings":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        printings.add(readPrinting(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        bookCount++;
+        return new Book(isbn, title, printings, starRatings);
+    }
+
+    private Printing readPrinting(JsonReader reader) throws IOException {
+        PrintingType printingType = null;
+        Publisher publisher = null;
+        Date printDate = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "printingType":
+                    printingType = PrintingType.valueOf(reader.nextString());
+                    break;
+                case "printDate":
+                    printDate = new Date(reader.nextLong());
+                    break;
+                case "publisher":
+                    publisher = readPublisher(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (printDate == null) {
+            throw new IllegalArgumentException("Catalog contains a printing with no print date!");
+        }
+        printingCount++;
+        return new Printing(printingType, publisher, printDate);
+    }
+
+    private Publisher readPublisher(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String name = null;
+        String contact = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "contact":
+                    contact = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (id == null) {
+            return new Publisher(null, name, contact);
+        }
+        return publisherRegistry.intern(id, name, contact);
+    }
+
+    /**
+     * One catalog line, with pseudonyms still as names.
+     */
+    private static class AuthorRecord {
+        private final String name;
+        private final String id;
+        private final List<String> pseudonymNames;
+        private final List<Book> books;
+
+        AuthorRecord(String name, String id, List<String> pseudonymNames, List<Book> books) {
+            this.name = name;
+            this.id = id;
+            this.pseudonymNames = pseudonymNames;
+            this.books = books;
+        }
+    }
+
+    /**
+     * The authors read from a catalog, and what it cost to read them.
+     */
+    public static class LoadResult {
+        private static final double ONE_MILLION = 1_000_000.0;
+
+        private final Map<String, Author> authorByName;
+        private final long bookCount;
+        private final long printingCount;
+        private final int publisherCount;
+        private final long elapsedNanos;
+        private final long heapBytesUsed;
+
+        LoadResult(Map<String, Author> authorByName, long bookCount, long printingCount, int publisherCount,
+                   long elapsedNanos, long heapBytesUsed) {
+            this.authorByName = authorByName;
+            this.bookCount = bookCount;
+            this.printingCount = printingCount;
+            this.publisherCount = publisherCount;
+            this.elapsedNanos = elapsedNanos;
+            this.heapBytesUsed = heapBytesUsed;
+        }
+
+        public Map<String, Author> getAuthorByName() {
+            return authorByName;
+        }
+
+        public long getBookCount() {
+            return bookCount;
+        }
+
+        public long getPrintingCount() {
+            return printingCount;
+        }
+
+        public int getPublisherCount() {
+            return publisherCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Approximate heap growth while loading, measured from Runtime before
+         * and after. A garbage collection during the load makes this an
+         * underestimate.
+         * @return Bytes of heap used by the load.
+         */
+        public long getHeapBytesUsed() {
+            return heapBytesUsed;
+        }
+
+        public double getHeapBytesPerMillionBooks() {
+            return bookCount == 0 ? 0 : heapBytesUsed * ONE_MILLION / bookCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Loaded %d authors, %d books, %d printings and %d publishers in %d ms "
+                    + "using ~%d MB of heap (~%.1f MB per million books)",
+                authorByName.size(), bookCount, printingCount, publisherCount, elapsedNanos / 1_000_000,
+                heapBytesUsed / (1024 * 1024), getHeapBytesPerMillionBooks() / (1024 * 1024));
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.amazon.ata.optionals.optionals.dao;
 
 import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class AuthorDao {
     private final Map<String, Author> authorByName;
+    private volatile BestRatedPaperbackPublisherIndex publisherIndex;
+    private volatile AuthorSecondaryIndex secondaryIndex;
 
     public AuthorDao(Map<String, Author> authorByName) {
+        this(authorByName, false);
+    }
+
+    /**
+     * Creates an AuthorDao, optionally precomputing the best-rated paperback
+     * publisher for every name in the map.
+     * @param authorByName The authors to serve, keyed by name or pseudonym.
+     * @param indexPublishers Whether to build a BestRatedPaperbackPublisherIndex now.
+     */
+    public AuthorDao(Map<String, Author> authorByName, boolean indexPublishers) {
         this.authorByName = authorByName;
+        if (indexPublishers) {
+            rebuildPublisherIndex();
+        }
     }
 
     /**
@@ -26,4 +47,164 @@ public class AuthorDao {
     public Optional<Author> findAuthorByName(String name) {
         return Optional.ofNullable(authorByName.get(name));
     }
+
+    /**
+     * Returns every name this DAO can resolve, including pseudonyms.
+     * @return An unmodifiable view of the names in the author map.
+     */
+    public Collection<String> getAuthorNames() {
+        return Collections.unmodifiableSet(authorByName.keySet());
+    }
+
+    /**
+     * Finds the authors for many names at once. Duplicate names are looked up
+     * only once. A remote-backed implementation should override this to send
+     * the names in as few requests as possible.
+     *
+     * @param names The names to search for.
+     * @return A map from each distinct name, in iteration order, to an Optional
+     *     containing the Author using that name, if any.
+     */
+    public Map<String, Optional<Author>> findAuthorsByNames(Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names must not be null!");
+        }
+
+        Map<String, Optional<Author>> authorsByName = new LinkedHashMap<>();
+        for (String name : names) {
+            if (!authorsByName.containsKey(name)) {
+                authorsByName.put(name, findAuthorByName(name));
+            }
+        }
+        return authorsByName;
+    }
+
+    /**
+     * Finds the author with this id. Like the other lookups below, this uses
+     * a secondary index built on first use; call rebuildSecondaryIndex()
+     * after the author map changes.
+     * @param id The author id to search for.
+     * @return An Optional containing the author with this id, if any.
+     */
+    public Optional<Author> findAuthorById(String id) {
+        return getSecondaryIndex().findAuthorById(id);
+    }
+
+    /**
+     * Finds the book with this ISBN.
+     * @param isbn The ISBN to search for.
+     * @return An Optional containing the book with this ISBN, if any.
+     */
+    public Optional<Book> findBookByIsbn(String isbn) {
+        return getSecondaryIndex().findBookByIsbn(isbn);
+    }
+
+    /**
+     * Finds the author who wrote the book with this ISBN.
+     * @param isbn The ISBN to search for.
+     * @return An Optional containing the book's author, if any.
+     */
+    public Optional<Author> findAuthorByIsbn(String isbn) {
+        return getSecondaryIndex().findAuthorByIsbn(isbn);
+    }
+
+    /**
+     * Finds every printing by a publisher.
+     * @param publisherId The id of the publisher to search for.
+     * @return A lazy stream of the publisher's printings.
+     */
+    public Stream<Printing> findPrintingsByPublisherId(String publisherId) {
+        return getSecondaryIndex().findPrintingsByPublisherId(publisherId);
+    }
+
+    /**
+     * Finds every book with a paperback printing by a publisher.
+     * @param publisherId The id of the publisher to search for.
+     * @return A lazy stream of the matching books, each once.
+     */
+    public Stream<Book> findBooksWithPaperbackByPublisherId(String publisherId) {
+        return getSecondaryIndex().findBooksWithPaperbackByPublisherId(publisherId);
+    }
+
+    /**
+     * Recomputes the id, ISBN and publisher indexes from the current contents
+     * of the author map. Readers keep using the old indexes until the new
+     * ones are fully built.
+     */
+    public void rebuildSecondaryIndex() {
+        secondaryIndex = new AuthorSecondaryIndex(getAuthorByName());
+    }
+
+    /**
+     * Returns the id, ISBN and publisher indexes, building them on first use.
+     * @return The current AuthorSecondaryIndex.
+     */
+    protected AuthorSecondaryIndex getSecondaryIndex() {
+        AuthorSecondaryIndex currentIndex = secondaryIndex;
+        if (currentIndex == null) {
+            synchronized (this) {
+                currentIndex = secondaryIndex;
+                if (currentIndex == null) {
+                    currentIndex = new AuthorSecondaryIndex(getAuthorByName());
+                    secondaryIndex = currentIndex;
+                }
+            }
+        }
+        return currentIndex;
+    }
+
+    /**
+     * Returns the precomputed publisher index, if one has been built.
+     * @return An Optional containing the current publisher index, if any.
+     */
+    public Optional<BestRatedPaperbackPublisherIndex> getPublisherIndex() {
+        return Optional.ofNullable(publisherIndex);
+    }
+
+    /**
+     * Recomputes the publisher index from the current contents of the author
+     * map, enabling it if it wasn't already. Call this whenever the map changes.
+     * Readers keep using the old index until the new one is fully built.
+     */
+    public void rebuildPublisherIndex() {
+        publisherIndex = new BestRatedPaperbackPublisherIndex(getAuthorByName());
+    }
+
+    /**
+     * Groups the authors in this DAO's map into identities connected by
+     * pseudonyms. The returned index is a snapshot; build a new one after the
+     * map changes.
+     * @return A new AuthorIdentityIndex over the current authors.
+     */
+    public AuthorIdentityIndex buildAuthorIdentityIndex() {
+        return new AuthorIdentityIndex(getAuthorByName());
+    }
+
+    /**
+     * Ranks the books in this DAO's map by publisher. The rankings follow new
+     * ratings, but not new books; build a new index after the map changes.
+     * @return A new TopRatedBooksByPublisherIndex over the current authors.
+     */
+    public TopRatedBooksByPublisherIndex buildTopRatedBooksByPublisherIndex() {
+        return new TopRatedBooksByPublisherIndex(getAuthorByName());
+    }
+
+    /**
+     * Builds a case-insensitive prefix index over every name and pseudonym in
+     * this DAO's map, for autocomplete. Build a new index after the map changes.
+     * @return A new AuthorNamePrefixIndex over the current authors.
+     */
+    public AuthorNamePrefixIndex buildAuthorNamePrefixIndex() {
+        return new AuthorNamePrefixIndex(getAuthorByName());
+    }
+
+    /**
+     * Returns every author this DAO serves, keyed by name or pseudonym, for
+     * building indexes. Subclasses that don't keep their authors in the map
+     * passed to the constructor override this.
+     * @return The authors to index.
+     */
+    protected Map<String, Author> getAuthorByName() {
+        return authorByName;
+    }
 }
@@ -0,0 +1,196 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Groups every Author reachable from an author map into identities: sets of
+ * Authors connected through their pseudonyms, in either direction. Pseudonym
+ * lists may point back at the original author, so the graph can contain
+ * cycles; each Author is visited once regardless.
+ *
+ * Whole-identity answers are computed once when the index is built, so each
+ * query is a single hash lookup.
+ */
+public class AuthorIdentityIndex {
+    private final Map<String, Identity> identityByName;
+
+    /**
+     * Builds the index from the authors in the map and everyone reachable
+     * through their pseudonyms. Names are looked up by map key first, then by
+     * Author.getName() for pseudonyms that aren't keyed in the map.
+     * @param authorByName The authors to index, keyed by name or pseudonym.
+     */
+    public AuthorIdentityIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        List<Author> authors = new ArrayList<>();
+        Map<Author, Integer> indexByAuthor = new IdentityHashMap<>();
+        Deque<Author> toVisit = new ArrayDeque<>();
+        for (Author author : authorByName.values()) {
+            if (author != null && !indexByAuthor.containsKey(author)) {
+                indexByAuthor.put(author, authors.size());
+                authors.add(author);
+                toVisit.push(author);
+            }
+        }
+
+        UnionFind unionFind = new UnionFind();
+        while (!toVisit.isEmpty()) {
+            Author author = toVisit.pop();
+            unionFind.add(indexByAuthor.get(author));
+            if (author.getPseudonyms() == null) {
+                continue;
+            }
+            for (Author pseudonym : author.getPseudonyms()) {
+                if (pseudonym == null) {
+                    continue;
+                }
+                if (!indexByAuthor.containsKey(pseudonym)) {
+                    indexByAuthor.put(pseudonym, authors.size());
+                    authors.add(pseudonym);
+                    toVisit.push(pseudonym);
+                }
+                unionFind.add(indexByAuthor.get(pseudonym));
+                unionFind.union(indexByAuthor.get(author), indexByAuthor.get(pseudonym));
+            }
+        }
+
+        Map<Integer, List<Author>> membersByRoot = new HashMap<>();
+        for (int i = 0; i < authors.size(); i++) {
+            membersByRoot.computeIfAbsent(unionFind.find(i), unused -> new ArrayList<>()).add(authors.get(i));
+        }
+        Map<Integer, Identity> identityByRoot = new HashMap<>();
+        membersByRoot.forEach((root, members) -> identityByRoot.put(root, new Identity(members)));
+
+        identityByName = new HashMap<>();
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            if (entry.getValue() != null) {
+                int root = unionFind.find(indexByAuthor.get(entry.getValue()));
+                identityByName.put(entry.getKey(), identityByRoot.get(root));
+            }
+        }
+        for (int i = 0; i < authors.size(); i++) {
+            if (authors.get(i).getName() != null) {
+                identityByName.putIfAbsent(authors.get(i).getName(), identityByRoot.get(unionFind.find(i)));
+            }
+        }
+    }
+
+    /**
+     * Finds every Author sharing an identity with the named author, including
+     * the named author themselves.
+     * @param name The name or pseudonym to search for.
+     * @return An Optional containing an unmodifiable list of the identity's Authors, if any.
+     */
+    public Optional<List<Author>> findIdentity(String name) {
+        return Optional.ofNullable(identityByName.get(name))
+            .map(identity -> identity.authors);
+    }
+
+    /**
+     * Finds the highest rated book published under any of the named author's
+     * names.
+     * @param name The name or pseudonym to search for.
+     * @return An Optional containing the identity's highest rated book, if any.
+     */
+    public Optional<Book> findBestRatedBook(String name) {
+        return Optional.ofNullable(identityByName.get(name))
+            .flatMap(identity -> identity.bestRatedBook);
+    }
+
+    /**
+     * Finds the publisher of the latest paperback version of the highest
+     * rated book published under any of the named author's names.
+     * @param name The name or pseudonym to search for.
+     * @return An Optional containing that publisher, if any.
+     */
+    public Optional<Publisher> findPublisherOfBestRatedPaperback(String name) {
+        return Optional.ofNullable(identityByName.get(name))
+            .flatMap(identity -> identity.publisherOfBestRatedPaperback);
+    }
+
+    private static class Identity {
+        private final List<Author> authors;
+        private final Optional<Book> bestRatedBook;
+        private final Optional<Publisher> publisherOfBestRatedPaperback;
+
+        Identity(List<Author> authors) {
+            this.authors = Collections.unmodifiableList(authors);
+
+            Optional<Book> highestRatedBook = Optional.empty();
+            double highestRating = -1.0;
+            for (Author author : authors) {
+                Optional<Book> book = author.getBestRatedBook();
+                Optional<Double> rating = book.flatMap(Book::getWeightedRating);
+                if (rating.isPresent() && rating.get() > highestRating) {
+                    highestRating = rating.get();
+                    highestRatedBook = book;
+                }
+            }
+            this.bestRatedBook = highestRatedBook;
+            this.publisherOfBestRatedPaperback = highestRatedBook
+                .flatMap(Book::getPaperback)
+                .flatMap(Printing::getPublisher);
+        }
+    }
+
+    /**
+     * Disjoint sets over dense author indexes, with path halving and union by size.
+     */
+    private static class UnionFind {
+        private int[] parent = new int[16];
+        private int[] size = new int[16];
+        private int count;
+
+        void add(int index) {
+            while (index >= parent.length) {
+                parent = Arrays.copyOf(parent, parent.length * 2);
+                size = Arrays.copyOf(size, size.length * 2);
+            }
+            while (count <= index) {
+                parent[count] = count;
+                size[count] = 1;
+                count++;
+            }
+        }
+
+        int find(int index) {
+            while (parent[index] != index) {
+                parent[index] = parent[parent[index]];
+                index = parent[index];
+            }
+            return index;
+        }
+
+        void union(int first, int second) {
+            int firstRoot = find(first);
+            int secondRoot = find(second);
+            if (firstRoot == secondRoot) {
+                return;
+            }
+            if (size[firstRoot] < size[secondRoot]) {
+                int swap = firstRoot;
+                firstRoot = secondRoot;
+                secondRoot = swap;
+            }
+            parent[secondRoot] = firstRoot;
+            size[firstRoot] += size[secondRoot];
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Case-insensitive prefix search over every name and pseudonym in an author
+ * map, for autocomplete. Matches are ranked by the weighted rating of each
+ * author's best rated book, highest first.
+ *
+ * Names are kept in an array sorted by their lower-case form, so the names
+ * sharing a prefix form one contiguous range found with two binary searches.
+ * A max segment tree over the authors' ratings then yields the top N of that
+ * range in O(N log M) for M names, without visiting the rest of the range.
+ *
+ * Ratings are captured when the index is built. Call refreshRatings() to pick
+ * up new ratings; build a new index when names are added or removed.
+ */
+public class AuthorNamePrefixIndex {
+    private final String[] names;
+    private final String[] lowerCaseNames;
+    private final Author[] authors;
+    private final int leafCount;
+    private volatile Ranking ranking;
+
+    /**
+     * Indexes every name in the map.
+     * @param authorByName The authors to index, keyed by name or pseudonym.
+     */
+    public AuthorNamePrefixIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        List<Map.Entry<String, Author>> entries = new ArrayList<>();
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                entries.add(entry);
+            }
+        }
+        String[] lowerCaseKeys = new String[entries.size()];
+        Integer[] order = new Integer[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            lowerCaseKeys[i] = toLowerCase(entries.get(i).getKey());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> lowerCaseKeys[i])
+            .thenComparing(i -> entries.get(i).getKey()));
+
+        names = new String[order.length];
+        lowerCaseNames = new String[order.length];
+        authors = new Author[order.length];
+        for (int position = 0; position < order.length; position++) {
+            names[position] = entries.get(order[position]).getKey();
+            lowerCaseNames[position] = lowerCaseKeys[order[position]];
+            authors[position] = entries.get(order[position]).getValue();
+        }
+
+        int size = 1;
+        while (size < names.length) {
+            size <<= 1;
+        }
+        leafCount = size;
+        refreshRatings();
+    }
+
+    /**
+     * Re-reads every author's best book rating and re-ranks the index. Costs
+     * O(M) for M names, with no re-sorting. Searches keep using the old
+     * ranking until the new one is complete.
+     */
+    public void refreshRatings() {
+        double[] ratings = new double[authors.length];
+        int[] bestPositionByNode = new int[2 * leafCount];
+        Ranking newRanking = new Ranking(ratings, bestPositionByNode);
+        for (int position = 0; position < authors.length; position++) {
+            ratings[position] = authors[position].getBestRatedBook()
+                .flatMap(Book::getWeightedRating)
+                .orElse(Double.NEGATIVE_INFINITY);
+        }
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            bestPositionByNode[leafCount + leaf] = leaf < authors.length ? leaf : -1;
+        }
+        for (int node = leafCount - 1; node > 0; node--) {
+            bestPositionByNode[node] =
+                newRanking.better(bestPositionByNode[2 * node], bestPositionByNode[2 * node + 1]);
+        }
+        ranking = newRanking;
+    }
+
+    /**
+     * Finds the names starting with the prefix, ignoring case, whose authors
+     * have the highest rated best books. Names of authors with no rated
+     * books come last. Equally rated names are returned alphabetically.
+     * @param prefix The start of the names to match; empty matches every name.
+     * @param limit The most names to return.
+     * @return Up to limit matching names, as they appear in the author map.
+     */
+    public List<String> findTopMatches(String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix must not be null!");
+        }
+        if (limit <= 0 || names.length == 0) {
+            return Collections.emptyList();
+        }
+
+        String lowerCasePrefix = toLowerCase(prefix);
+        int from = firstAtOrAfter(lowerCasePrefix);
+        int to = firstNotStartingWith(lowerCasePrefix, from);
+        if (from == to) {
+            return Collections.emptyList();
+        }
+
+        // Each candidate is the best position of a disjoint range; taking one splits its range in two
+        Ranking currentRanking = ranking;
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(
+            (first, second) -> currentRanking.better(first[0], second[0]) == first[0] ? -1 : 1);
+        candidates.add(new int[] {bestIn(currentRanking, from, to), from, to});
+        List<String> matches = new ArrayList<>(Math.min(limit, to - from));
+        while (matches.size() < limit && !candidates.isEmpty()) {
+            int[] candidate = candidates.poll();
+            int position = candidate[0];
+            matches.add(names[position]);
+            if (candidate[1] < position) {
+                candidates.add(new int[] {bestIn(currentRanking, candidate[1], position), candidate[1], position});
+            }
+            if (position + 1 < candidate[2]) {
+                candidates.add(
+                    new int[] {bestIn(currentRanking, position + 1, candidate[2]), position + 1, candidate[2]});
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private int firstAtOrAfter(String lowerCasePrefix) {
+        int low = 0;
+        int high = lowerCaseNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lowerCaseNames[middle].compareTo(lowerCasePrefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstNotStartingWith(String lowerCasePrefix, int from) {
+        int low = from;
+        int high = lowerCaseNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lowerCaseNames[middle].startsWith(lowerCasePrefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int bestIn(Ranking currentRanking, int from, int to) {
+        int best = -1;
+        for (int left = from + leafCount, right = to + leafCount; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                best = currentRanking.better(best, currentRanking.bestPositionByNode[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = currentRanking.better(best, currentRanking.bestPositionByNode[--right]);
+            }
+        }
+        return best;
+    }
+
+    private static String toLowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Every name's rating, and a max segment tree over them: node 1 is the
+     * root, node i's children are 2i and 2i + 1, and leaf positions start at
+     * leafCount. Each node holds the best position in its range, or -1.
+     */
+    private static class Ranking {
+        private final double[] ratings;
+        private final int[] bestPositionByNode;
+
+        Ranking(double[] ratings, int[] bestPositionByNode) {
+            this.ratings = ratings;
+            this.bestPositionByNode = bestPositionByNode;
+        }
+
+        int better(int first, int second) {
+            if (first < 0) {
+                return second;
+            }
+            if (second < 0) {
+                return first;
+            }
+            int byRating = Double.compare(ratings[first], ratings[second]);
+            if (byRating != 0) {
+                return byRating > 0 ? first : second;
+            }
+            return first < second ? first : second;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Hash indexes over an author map for the lookups other than by name: author
+ * by id, book and author by ISBN, and printings and paperback books by
+ * publisher id. Each lookup is a single hash probe instead of a scan of
+ * every author.
+ *
+ * The index is a snapshot of the map it was built from. When ids or ISBNs
+ * are shared, the first author or book found wins. Authors with a BookSource
+ * are streamed once, a page at a time; the index keeps the Book objects that
+ * stream returned.
+ */
+public class AuthorSecondaryIndex {
+    private final Map<String, Author> authorById = new HashMap<>();
+    private final Map<String, Book> bookByIsbn = new HashMap<>();
+    private final Map<String, Author> authorByIsbn = new HashMap<>();
+    private final Map<String, List<Printing>> printingsByPublisherId = new HashMap<>();
+    private final Map<String, List<Book>> paperbackBooksByPublisherId = new HashMap<>();
+
+    /**
+     * Indexes every author, book and printing in the map.
+     * @param authorByName The authors to index, keyed by name or pseudonym.
+     */
+    public AuthorSecondaryIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        Set<Author> seenAuthors = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Book> seenBooks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Author author : authorByName.values()) {
+            if (author == null || !seenAuthors.add(author)) {
+                continue;
+            }
+            if (author.getId() != null) {
+                authorById.putIfAbsent(author.getId(), author);
+            }
+            Iterator<Book> books = author.streamBooks().iterator();
+            while (books.hasNext()) {
+                Book book = books.next();
+                authorByIsbn.putIfAbsent(book.getIsbn(), author);
+                if (seenBooks.add(book)) {
+                    bookByIsbn.putIfAbsent(book.getIsbn(), book);
+                    indexPrintings(book);
+                }
+            }
+        }
+    }
+
+    private void indexPrintings(Book book) {
+        Set<String> paperbackPublisherIds = new HashSet<>();
+        for (Printing printing : book.getPrintingsView()) {
+            Optional<Publisher> publisher = printing.getPublisher();
+            if (!publisher.isPresent() || publisher.get().getId() == null) {
+                continue;
+            }
+            String publisherId = publisher.get().getId();
+            printingsByPublisherId.computeIfAbsent(publisherId, unused -> new ArrayList<>()).add(printing);
+            if (printing.getPrintingType() == PrintingType.PAPERBACK && paperbackPublisherIds.add(publisherId)) {
+                paperbackBooksByPublisherId.computeIfAbsent(publisherId, unused -> new ArrayList<>()).add(book);
+            }
+        }
+    }
+
+    public Optional<Author> findAuthorById(String id) {
+        return Optional.ofNullable(authorById.get(id));
+    }
+
+    public Optional<Book> findBookByIsbn(String isbn) {
+        return Optional.ofNullable(bookByIsbn.get(isbn));
+    }
+
+    public Optional<Author> findAuthorByIsbn(String isbn) {
+        return Optional.ofNullable(authorByIsbn.get(isbn));
+    }
+
+    /**
+     * Streams every printing by the publisher, in catalog order.
+     * @param publisherId The id of the publisher to search for.
+     * @return A lazy stream of the publisher's printings; empty if there are none.
+     */
+    public Stream<Printing> findPrintingsByPublisherId(String publisherId) {
+        return printingsByPublisherId.getOrDefault(publisherId, Collections.emptyList()).stream();
+    }
+
+    /**
+     * Streams every book with at least one paperback printing by the
+     * publisher, each once, in catalog order.
+     * @param publisherId The id of the publisher to search for.
+     * @return A lazy stream of the matching books; empty if there are none.
+     */
+    public Stream<Book> findBooksWithPaperbackByPublisherId(String publisherId) {
+        return paperbackBooksByPublisherId.getOrDefault(publisherId, Collections.emptyList()).stream();
+    }
+}
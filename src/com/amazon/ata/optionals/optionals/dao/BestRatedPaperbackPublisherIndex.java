@@ -0,0 +1,83 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Precomputed answers to "who published the latest paperback of this
+ * author's best-rated book?", keyed by every name the AuthorDao resolves.
+ *
+ * The index is a snapshot of the author map at the time it was built. If
+ * the map changes, call {@link AuthorDao#rebuildPublisherIndex()} to pick up
+ * the changes, or {@link #update(Map, Collection)} if only a few names did.
+ */
+public class BestRatedPaperbackPublisherIndex {
+    private final Map<String, Publisher> publisherByAuthorName;
+
+    /**
+     * Walks every author in the map once and records the publisher of the
+     * latest paperback of their best-rated book. Names without an answer are
+     * not stored.
+     * @param authorByName The authors to index, keyed by name or pseudonym.
+     */
+    public BestRatedPaperbackPublisherIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        publisherByAuthorName = new HashMap<>();
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            findPublisher(entry.getValue())
+                .ifPresent(publisher -> publisherByAuthorName.put(entry.getKey(), publisher));
+        }
+    }
+
+    private BestRatedPaperbackPublisherIndex(BestRatedPaperbackPublisherIndex previous,
+                                             Map<String, Author> authorByName, Collection<String> changedNames) {
+        publisherByAuthorName = new HashMap<>(previous.publisherByAuthorName);
+        for (String name : changedNames) {
+            Optional<Publisher> publisher = findPublisher(authorByName.get(name));
+            if (publisher.isPresent()) {
+                publisherByAuthorName.put(name, publisher.get());
+            } else {
+                publisherByAuthorName.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Builds a new index from this one, re-walking only the changed names'
+     * authors. Every other name keeps its current answer, so this copies
+     * this index's entries but doesn't read any other author's books.
+     * @param authorByName The authors after the change, keyed by name or pseudonym.
+     * @param changedNames The names that were added, replaced or removed.
+     * @return A new index over authorByName. This index is left unchanged.
+     */
+    BestRatedPaperbackPublisherIndex update(Map<String, Author> authorByName, Collection<String> changedNames) {
+        return new BestRatedPaperbackPublisherIndex(this, authorByName, changedNames);
+    }
+
+    /**
+     * Looks up the precomputed publisher for this name.
+     * @param authorName The name of the author to search for.
+     * @return An Optional containing the publisher of the latest paperback
+     *     version of the named author's highest-rated book, if any.
+     */
+    public Optional<Publisher> findPublisherByAuthorName(String authorName) {
+        return Optional.ofNullable(publisherByAuthorName.get(authorName));
+    }
+
+    private static Optional<Publisher> findPublisher(Author author) {
+        return Optional.ofNullable(author)
+            .flatMap(Author::getBestRatedBook)
+            .flatMap(Book::getPaperback)
+            .flatMap(Printing::getPublisher);
+    }
+}
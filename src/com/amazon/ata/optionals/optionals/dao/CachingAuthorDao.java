@@ -0,0 +1,184 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * An AuthorDao that remembers the results of another AuthorDao's lookups.
+ * Both found authors and misses (empty Optionals) are cached, so repeated
+ * lookups of unknown names don't reach the delegate either.
+ *
+ * Entries are evicted once the cache holds more than maximumSize names, or
+ * timeToLive after they were loaded. Null names are never cached; they go
+ * straight to the delegate. Every other lookup and index, such as by id or
+ * ISBN, is served by the delegate.
+ */
+public class CachingAuthorDao extends AuthorDao {
+    private final AuthorDao delegate;
+    private final LoadingCache<String, Optional<Author>> authorCache;
+
+    /**
+     * Creates a cache in front of the delegate.
+     * @param delegate The AuthorDao to load authors from on a cache miss.
+     * @param maximumSize The most names to keep in the cache at once.
+     * @param timeToLive How long a loaded result may be served from the cache.
+     */
+    public CachingAuthorDao(AuthorDao delegate, long maximumSize, Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    CachingAuthorDao(AuthorDao delegate, long maximumSize, Duration timeToLive, Ticker ticker) {
+        super(Collections.emptyMap());
+
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate AuthorDao must not be null!");
+        }
+        if (timeToLive == null) {
+            throw new IllegalArgumentException("Time to live must not be null!");
+        }
+
+        this.delegate = delegate;
+        this.authorCache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .recordStats()
+            .build(new CacheLoader<String, Optional<Author>>() {
+                @Override
+                public Optional<Author> load(String name) {
+                    return delegate.findAuthorByName(name);
+                }
+
+                @Override
+                public Map<String, Optional<Author>> loadAll(Iterable<? extends String> names) {
+                    Collection<String> missingNames = new ArrayList<>();
+                    names.forEach(missingNames::add);
+                    return delegate.findAuthorsByNames(missingNames);
+                }
+            });
+    }
+
+    @Override
+    public Optional<Author> findAuthorByName(String name) {
+        if (name == null) {
+            return delegate.findAuthorByName(name);
+        }
+        return authorCache.getUnchecked(name);
+    }
+
+    @Override
+    public Map<String, Optional<Author>> findAuthorsByNames(Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names must not be null!");
+        }
+
+        // Guava caches reject null keys, so null names skip the cache like in findAuthorByName
+        List<String> cacheableNames = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (name != null) {
+                cacheableNames.add(name);
+            }
+        }
+        Map<String, Optional<Author>> cachedAuthorsByName;
+        try {
+            cachedAuthorsByName = authorCache.getAll(cacheableNames);
+        } catch (ExecutionException e) {
+            throw new UncheckedExecutionException(e.getCause());
+        }
+
+        Map<String, Optional<Author>> authorsByName = new LinkedHashMap<>();
+        for (String name : names) {
+            if (!authorsByName.containsKey(name)) {
+                authorsByName.put(name, name == null ? delegate.findAuthorByName(null) : cachedAuthorsByName.get(name));
+            }
+        }
+        return authorsByName;
+    }
+
+    @Override
+    public Collection<String> getAuthorNames() {
+        return delegate.getAuthorNames();
+    }
+
+    @Override
+    public Optional<BestRatedPaperbackPublisherIndex> getPublisherIndex() {
+        return delegate.getPublisherIndex();
+    }
+
+    /**
+     * Rebuilds the delegate's publisher index and drops every cached author,
+     * since the underlying data has changed.
+     */
+    @Override
+    public void rebuildPublisherIndex() {
+        delegate.rebuildPublisherIndex();
+        invalidateAll();
+    }
+
+    @Override
+    public AuthorIdentityIndex buildAuthorIdentityIndex() {
+        return delegate.buildAuthorIdentityIndex();
+    }
+
+    @Override
+    public TopRatedBooksByPublisherIndex buildTopRatedBooksByPublisherIndex() {
+        return delegate.buildTopRatedBooksByPublisherIndex();
+    }
+
+    @Override
+    public AuthorNamePrefixIndex buildAuthorNamePrefixIndex() {
+        return delegate.buildAuthorNamePrefixIndex();
+    }
+
+    @Override
+    public void rebuildSecondaryIndex() {
+        delegate.rebuildSecondaryIndex();
+    }
+
+    @Override
+    protected AuthorSecondaryIndex getSecondaryIndex() {
+        return delegate.getSecondaryIndex();
+    }
+
+    /**
+     * Returns the delegate's authors, so indexes and pipelines built over this
+     * cache see the same books as the delegate.
+     * @return The delegate's authors by name.
+     */
+    @Override
+    protected Map<String, Author> getAuthorByName() {
+        return delegate.getAuthorByName();
+    }
+
+    /**
+     * Drops every cached result, so the next lookup of each name reaches the delegate.
+     */
+    public void invalidateAll() {
+        authorCache.invalidateAll();
+    }
+
+    /**
+     * Returns hit, miss, eviction and load latency counters since this cache
+     * was created.
+     * @return A snapshot of the cache's statistics.
+     */
+    public CacheStats getStats() {
+        return authorCache.stats();
+    }
+}
@@ -0,0 +1,233 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An AuthorDao that can be read from many threads while authors are added,
+ * replaced and removed.
+ *
+ * Authors are kept in an immutable snapshot map that is swapped atomically
+ * on every update. Readers just dereference the current snapshot, so reads
+ * never lock or wait on writers, and every index built from the DAO sees a
+ * single consistent catalog. Writers copy the snapshot, so every update
+ * costs O(names) under the write lock, however few names it changes;
+ * prefer upsertAll and removeAll for bulk changes.
+ *
+ * If the publisher index is enabled, every update also copies the previous
+ * index's entries and re-walks the books of only the changed names'
+ * authors. Both are published in the same volatile write, so a reader that
+ * has seen an update never gets an older index afterwards. The id,
+ * ISBN and publisher indexes are published with the same snapshot, but only
+ * built by the first lookup that needs them; lookups racing it wait for that
+ * one build rather than each building their own.
+ */
+public class ConcurrentAuthorDao extends AuthorDao {
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ConcurrentAuthorDao(Map<String, Author> authorByName) {
+        this(authorByName, false);
+    }
+
+    /**
+     * Creates a ConcurrentAuthorDao from a copy of the given authors.
+     * @param authorByName The initial authors, keyed by name or pseudonym.
+     * @param indexPublishers Whether to build and maintain a BestRatedPaperbackPublisherIndex.
+     */
+    public ConcurrentAuthorDao(Map<String, Author> authorByName, boolean indexPublishers) {
+        super(Collections.emptyMap());
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+        Map<String, Author> initial = new HashMap<>();
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            validateEntry(entry.getKey(), entry.getValue());
+            initial.put(entry.getKey(), entry.getValue());
+        }
+        Map<String, Author> authors = Collections.unmodifiableMap(initial);
+        this.snapshot = new Snapshot(authors, indexPublishers ? new BestRatedPaperbackPublisherIndex(authors) : null);
+    }
+
+    @Override
+    public Optional<Author> findAuthorByName(String name) {
+        return Optional.ofNullable(snapshot.authors.get(name));
+    }
+
+    /**
+     * Returns the names in the current snapshot. The collection doesn't
+     * change when authors are updated later.
+     * @return An unmodifiable collection of the names this DAO can resolve.
+     */
+    @Override
+    public Collection<String> getAuthorNames() {
+        return snapshot.authors.keySet();
+    }
+
+    /**
+     * Adds or replaces the author for a name.
+     * @param name The name or pseudonym to store the author under.
+     * @param author The author using this name.
+     * @return An Optional containing the author previously stored under this name, if any.
+     */
+    public Optional<Author> upsert(String name, Author author) {
+        validateEntry(name, author);
+        synchronized (writeLock) {
+            Map<String, Author> updated = new HashMap<>(snapshot.authors);
+            Author previous = updated.put(name, author);
+            publish(updated, Collections.singleton(name));
+            return Optional.ofNullable(previous);
+        }
+    }
+
+    /**
+     * Adds or replaces many authors in one atomic update. Readers see either
+     * none of the changes or all of them.
+     * @param authorByName The authors to store, keyed by name or pseudonym.
+     */
+    public void upsertAll(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+        for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+            validateEntry(entry.getKey(), entry.getValue());
+        }
+        synchronized (writeLock) {
+            Map<String, Author> updated = new HashMap<>(snapshot.authors);
+            updated.putAll(authorByName);
+            publish(updated, authorByName.keySet());
+        }
+    }
+
+    /**
+     * Removes the author for a name.
+     * @param name The name or pseudonym to remove.
+     * @return An Optional containing the author that was stored under this name, if any.
+     */
+    public Optional<Author> remove(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null!");
+        }
+        synchronized (writeLock) {
+            if (!snapshot.authors.containsKey(name)) {
+                return Optional.empty();
+            }
+            Map<String, Author> updated = new HashMap<>(snapshot.authors);
+            Author previous = updated.remove(name);
+            publish(updated, Collections.singleton(name));
+            return Optional.of(previous);
+        }
+    }
+
+    /**
+     * Removes many names in one atomic update.
+     * @param names The names or pseudonyms to remove.
+     * @return How many of the names were present.
+     */
+    public int removeAll(Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names must not be null!");
+        }
+        synchronized (writeLock) {
+            Map<String, Author> updated = new HashMap<>(snapshot.authors);
+            List<String> removed = new ArrayList<>();
+            for (String name : names) {
+                if (name != null && updated.remove(name) != null) {
+                    removed.add(name);
+                }
+            }
+            if (!removed.isEmpty()) {
+                publish(updated, removed);
+            }
+            return removed.size();
+        }
+    }
+
+    @Override
+    public Optional<BestRatedPaperbackPublisherIndex> getPublisherIndex() {
+        return Optional.ofNullable(snapshot.publisherIndex);
+    }
+
+    @Override
+    public void rebuildPublisherIndex() {
+        synchronized (writeLock) {
+            Map<String, Author> authors = snapshot.authors;
+            snapshot = new Snapshot(authors, new BestRatedPaperbackPublisherIndex(authors));
+        }
+    }
+
+    /**
+     * Discards the current snapshot's id, ISBN and publisher indexes, so the
+     * next lookup rebuilds them. Only needed if authors' books were changed
+     * in place; every update already gets fresh indexes.
+     */
+    @Override
+    public void rebuildSecondaryIndex() {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(current.authors, current.publisherIndex);
+        }
+    }
+
+    /**
+     * Returns the id, ISBN and publisher indexes for the current snapshot,
+     * building them once per snapshot on first use.
+     * @return An AuthorSecondaryIndex over the current authors.
+     */
+    @Override
+    protected AuthorSecondaryIndex getSecondaryIndex() {
+        return snapshot.secondaryIndex.get();
+    }
+
+    /**
+     * Returns the current snapshot of every author. The map never changes;
+     * later updates publish a new one.
+     * @return An unmodifiable map of the current authors.
+     */
+    @Override
+    protected Map<String, Author> getAuthorByName() {
+        return snapshot.authors;
+    }
+
+    private void publish(Map<String, Author> updated, Collection<String> changedNames) {
+        Map<String, Author> authors = Collections.unmodifiableMap(updated);
+        BestRatedPaperbackPublisherIndex publisherIndex = snapshot.publisherIndex == null ?
+            null : snapshot.publisherIndex.update(authors, changedNames);
+        snapshot = new Snapshot(authors, publisherIndex);
+    }
+
+    private static void validateEntry(String name, Author author) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null!");
+        }
+        if (author == null) {
+            throw new IllegalArgumentException("Author must not be null!");
+        }
+    }
+
+    /**
+     * The authors and the indexes built from them, published together. The
+     * secondary index is memoized, so it's built at most once per snapshot.
+     */
+    private static class Snapshot {
+        private final Map<String, Author> authors;
+        private final BestRatedPaperbackPublisherIndex publisherIndex;
+        private final Supplier<AuthorSecondaryIndex> secondaryIndex;
+
+        Snapshot(Map<String, Author> authors, BestRatedPaperbackPublisherIndex publisherIndex) {
+            this.authors = authors;
+            this.publisherIndex = publisherIndex;
+            this.secondaryIndex = Suppliers.memoize(() -> new AuthorSecondaryIndex(authors));
+        }
+    }
+}
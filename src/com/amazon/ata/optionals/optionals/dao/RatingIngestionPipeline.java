@@ -0,0 +1,156 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.RatingEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies batches of new star ratings to the books an AuthorDao serves, in
+ * place, so authors' best rated books follow the ratings without rebuilding
+ * any Book or Author.
+ *
+ * Each batch is first tallied per book, then applied with one Book.addRatings
+ * call per book, so a hot book costs one lock acquisition per batch instead
+ * of one per rating. Ingestion totals are kept in LongAdders, so many threads
+ * can ingest at once without contending on them.
+ *
+ * Books are looked up by ISBN in an index built when the pipeline is created;
+ * books added to the DAO afterwards need a new pipeline. Authors with a
+ * BookSource are streamed once to build it, so their ratings only show up in
+ * later lookups if the source keeps returning the same Book objects.
+ */
+public class RatingIngestionPipeline {
+    private final Map<String, Book> bookByIsbn;
+    private final LongAdder acceptedRatingCount = new LongAdder();
+    private final LongAdder unknownIsbnRatingCount = new LongAdder();
+    private final LongAdder invalidRatingCount = new LongAdder();
+
+    /**
+     * Indexes every book the DAO serves by ISBN, and opts every author into
+     * Author.trackBookRanking() so getBestRatedBook() is O(1) from the first
+     * batch on.
+     * @param authorDao The DAO whose books receive the ratings.
+     */
+    public RatingIngestionPipeline(AuthorDao authorDao) {
+        if (authorDao == null) {
+            throw new IllegalArgumentException("AuthorDao must not be null!");
+        }
+
+        Map<String, Book> books = new HashMap<>();
+        for (Author author : authorDao.getAuthorByName().values()) {
+            if (author == null) {
+                continue;
+            }
+            author.streamBooks().forEach(book -> books.putIfAbsent(book.getIsbn(), book));
+            author.trackBookRanking();
+        }
+        this.bookByIsbn = Collections.unmodifiableMap(books);
+    }
+
+    /**
+     * Applies a batch of ratings. Ratings for unknown ISBNs or outside the
+     * star range are counted and skipped rather than failing the batch.
+     * @param ratingEvents The ratings to apply.
+     * @return How many of the batch's ratings were applied and skipped.
+     */
+    public IngestionResult ingest(Collection<RatingEvent> ratingEvents) {
+        if (ratingEvents == null) {
+            throw new IllegalArgumentException("Rating events must not be null!");
+        }
+
+        Map<Book, long[]> countsByBook = new IdentityHashMap<>();
+        long accepted = 0;
+        long unknownIsbn = 0;
+        long invalid = 0;
+        for (RatingEvent ratingEvent : ratingEvents) {
+            if (ratingEvent == null || !isValidStarRating(ratingEvent.getStarRating())) {
+                invalid++;
+                continue;
+            }
+            Book book = ratingEvent.getIsbn() == null ? null : bookByIsbn.get(ratingEvent.getIsbn());
+            if (book == null) {
+                unknownIsbn++;
+                continue;
+            }
+            countsByBook.computeIfAbsent(book, unused -> new long[Book.MAX_STAR_RATING + 1])
+                [ratingEvent.getStarRating()]++;
+            accepted++;
+        }
+
+        for (Map.Entry<Book, long[]> entry : countsByBook.entrySet()) {
+            entry.getKey().addRatings(entry.getValue());
+        }
+
+        acceptedRatingCount.add(accepted);
+        unknownIsbnRatingCount.add(unknownIsbn);
+        invalidRatingCount.add(invalid);
+        return new IngestionResult(accepted, unknownIsbn, invalid, countsByBook.size());
+    }
+
+    public long getAcceptedRatingCount() {
+        return acceptedRatingCount.sum();
+    }
+
+    public long getUnknownIsbnRatingCount() {
+        return unknownIsbnRatingCount.sum();
+    }
+
+    public long getInvalidRatingCount() {
+        return invalidRatingCount.sum();
+    }
+
+    private static boolean isValidStarRating(int starRating) {
+        return starRating >= Book.MIN_STAR_RATING && starRating <= Book.MAX_STAR_RATING;
+    }
+
+    /**
+     * What happened to one batch of ratings.
+     */
+    public static class IngestionResult {
+        private final long acceptedRatingCount;
+        private final long unknownIsbnRatingCount;
+        private final long invalidRatingCount;
+        private final int updatedBookCount;
+
+        IngestionResult(long acceptedRatingCount, long unknownIsbnRatingCount, long invalidRatingCount,
+                        int updatedBookCount) {
+            this.acceptedRatingCount = acceptedRatingCount;
+            this.unknownIsbnRatingCount = unknownIsbnRatingCount;
+            this.invalidRatingCount = invalidRatingCount;
+            this.updatedBookCount = updatedBookCount;
+        }
+
+        public long getAcceptedRatingCount() {
+            return acceptedRatingCount;
+        }
+
+        public long getUnknownIsbnRatingCount() {
+            return unknownIsbnRatingCount;
+        }
+
+        public long getInvalidRatingCount() {
+            return invalidRatingCount;
+        }
+
+        public int getUpdatedBookCount() {
+            return updatedBookCount;
+        }
+
+        @Override
+        public String toString() {
+            return "IngestionResult{" +
+                "acceptedRatingCount=" + acceptedRatingCount +
+                ", unknownIsbnRatingCount=" + unknownIsbnRatingCount +
+                ", invalidRatingCount=" + invalidRatingCount +
+                ", updatedBookCount=" + updatedBookCount +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.BookRanking;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The highest rated books of every publisher in an author map. A book counts
+ * toward every publisher that published any of its printings.
+ *
+ * Each publisher's books are kept in a BookRanking, so rankings follow new
+ * ratings without a rebuild. Books and printings added to the map later are
+ * not picked up; build a new index for those, and close() the old one so its
+ * books stop updating it. Authors with a BookSource are streamed once, a page
+ * at a time, and their books are ranked as that stream returned them.
+ */
+public class TopRatedBooksByPublisherIndex {
+    private final Map<Publisher, BookRanking> rankingByPublisher = new HashMap<>();
+
+    /**
+     * Ranks every book in the map by publisher.
+     * @param authorByName The authors whose books to rank, keyed by name or pseudonym.
+     */
+    public TopRatedBooksByPublisherIndex(Map<String, Author> authorByName) {
+        if (authorByName == null) {
+            throw new IllegalArgumentException("Author map must not be null!");
+        }
+
+        Set<Book> seenBooks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Author author : authorByName.values()) {
+            if (author == null) {
+                continue;
+            }
+            Iterator<Book> books = author.streamBooks().iterator();
+            while (books.hasNext()) {
+                Book book = books.next();
+                if (!seenBooks.add(book)) {
+                    continue;
+                }
+                Set<Publisher> publishers = new HashSet<>();
+                for (Printing printing : book.getPrintingsView()) {
+                    printing.getPublisher().ifPresent(publishers::add);
+                }
+                for (Publisher publisher : publishers) {
+                    rankingByPublisher.computeIfAbsent(publisher, unused -> new BookRanking()).add(book);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the publisher's highest rated books, highest first.
+     * @param publisher The publisher to search for.
+     * @param limit The most books to return.
+     * @return Up to limit rated books with a printing by this publisher.
+     */
+    public List<Book> getTopRatedBooks(Publisher publisher, int limit) {
+        BookRanking ranking = rankingByPublisher.get(publisher);
+        return ranking == null ? Collections.emptyList() : ranking.getTopRatedBooks(limit);
+    }
+
+    /**
+     * Unregisters every ranking from its books. The index returns no books
+     * afterwards. Indexes that are simply dropped are unregistered once
+     * they're garbage collected.
+     */
+    public void close() {
+        for (BookRanking ranking : rankingByPublisher.values()) {
+            ranking.close();
+        }
+    }
+}
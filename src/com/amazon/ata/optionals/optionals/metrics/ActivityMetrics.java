@@ -0,0 +1,145 @@
+package com.amazon.ata.optionals.optionals.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and empty-result counts for
+ * GetPublisherOfBestRatedPaperbackForAuthorActivity.
+ *
+ * Whether metrics are recorded is fixed when the ActivityMetrics is created.
+ * The activity checks isEnabled() once per request and skips all timing when
+ * it's false, so disabled metrics cost one predictable branch.
+ */
+public class ActivityMetrics {
+    private static final ActivityMetrics DISABLED = new ActivityMetrics(false);
+
+    private final boolean enabled;
+    private final Map<ActivityStep, LatencyHistogram> latencyByStep = new EnumMap<>(ActivityStep.class);
+    private final Map<EmptyResultReason, LongAdder> emptyResultCountByReason = new EnumMap<>(EmptyResultReason.class);
+    private final LongAdder requestCount = new LongAdder();
+
+    private ActivityMetrics(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            for (ActivityStep step : ActivityStep.values()) {
+                latencyByStep.put(step, new LatencyHistogram());
+            }
+            for (EmptyResultReason reason : EmptyResultReason.values()) {
+                emptyResultCountByReason.put(reason, new LongAdder());
+            }
+        }
+    }
+
+    /**
+     * Creates metrics that record every request.
+     * @return A new, empty ActivityMetrics.
+     */
+    public static ActivityMetrics enabled() {
+        return new ActivityMetrics(true);
+    }
+
+    /**
+     * Returns the shared metrics that record nothing.
+     * @return A disabled ActivityMetrics.
+     */
+    public static ActivityMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the latency of one step of a request. Does nothing when disabled.
+     * @param step The step that was timed.
+     * @param nanos How long the step took.
+     */
+    public void recordLatency(ActivityStep step, long nanos) {
+        if (enabled) {
+            latencyByStep.get(step).record(nanos);
+        }
+    }
+
+    /**
+     * Records a finished request. Does nothing when disabled.
+     * @param emptyResultReason Why the request found no publisher, or null if it found one.
+     */
+    public void recordRequest(EmptyResultReason emptyResultReason) {
+        if (enabled) {
+            requestCount.increment();
+            if (emptyResultReason != null) {
+                emptyResultCountByReason.get(emptyResultReason).increment();
+            }
+        }
+    }
+
+    /**
+     * Copies the current counts and histograms, for scraping. Requests
+     * recorded while copying may be partly included.
+     * @return A snapshot of the metrics; all zeros if disabled.
+     */
+    public Snapshot snapshot() {
+        Map<ActivityStep, LatencyHistogram.Snapshot> latencies = new EnumMap<>(ActivityStep.class);
+        Map<EmptyResultReason, Long> emptyResultCounts = new EnumMap<>(EmptyResultReason.class);
+        for (ActivityStep step : ActivityStep.values()) {
+            LatencyHistogram histogram = enabled ? latencyByStep.get(step) : new LatencyHistogram();
+            latencies.put(step, histogram.snapshot());
+        }
+        for (EmptyResultReason reason : EmptyResultReason.values()) {
+            emptyResultCounts.put(reason, enabled ? emptyResultCountByReason.get(reason).sum() : 0L);
+        }
+        return new Snapshot(requestCount.sum(), latencies, emptyResultCounts);
+    }
+
+    /**
+     * An immutable copy of an ActivityMetrics.
+     */
+    public static class Snapshot {
+        private final long requestCount;
+        private final Map<ActivityStep, LatencyHistogram.Snapshot> latencyByStep;
+        private final Map<EmptyResultReason, Long> emptyResultCountByReason;
+
+        Snapshot(long requestCount, Map<ActivityStep, LatencyHistogram.Snapshot> latencyByStep,
+                 Map<EmptyResultReason, Long> emptyResultCountByReason) {
+            this.requestCount = requestCount;
+            this.latencyByStep = latencyByStep;
+            this.emptyResultCountByReason = emptyResultCountByReason;
+        }
+
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        public LatencyHistogram.Snapshot getLatency(ActivityStep step) {
+            return latencyByStep.get(step);
+        }
+
+        public long getEmptyResultCount(EmptyResultReason reason) {
+            return emptyResultCountByReason.get(reason);
+        }
+
+        /**
+         * Returns how many requests found no publisher, for any reason.
+         * @return The number of empty results.
+         */
+        public long getEmptyResultCount() {
+            long emptyResultCount = 0;
+            for (long count : emptyResultCountByReason.values()) {
+                emptyResultCount += count;
+            }
+            return emptyResultCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "requestCount=" + requestCount +
+                ", latencyByStep=" + latencyByStep +
+                ", emptyResultCountByReason=" + emptyResultCountByReason +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.amazon.ata.optionals.optionals.metrics;
+
+/**
+ * The timed steps of a GetPublisherOfBestRatedPaperbackForAuthorActivity request.
+ */
+public enum ActivityStep {
+    /** The whole request, from name to result. */
+    REQUEST,
+    /** Finding the author by name, or the publisher in the publisher index. */
+    DAO_LOOKUP,
+    /** Finding the author's best rated book. */
+    RATING,
+    /** Finding the best rated book's latest paperback. */
+    PAPERBACK_SELECTION
+}
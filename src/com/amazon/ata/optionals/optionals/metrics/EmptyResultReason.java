@@ -0,0 +1,19 @@
+package com.amazon.ata.optionals.optionals.metrics;
+
+/**
+ * Why GetPublisherOfBestRatedPaperbackForAuthorActivity found no publisher.
+ */
+public enum EmptyResultReason {
+    /** No author uses the requested name. */
+    NO_AUTHOR,
+    /** The author has no books. */
+    NO_BOOKS,
+    /** None of the author's books have been rated. */
+    NO_RATINGS,
+    /** The author's best rated book has no paperback printing. */
+    NO_PAPERBACK,
+    /** The latest paperback was self-published. */
+    NO_PUBLISHER,
+    /** The publisher index has no publisher for the name; it doesn't keep the reason. */
+    NOT_IN_PUBLISHER_INDEX
+}
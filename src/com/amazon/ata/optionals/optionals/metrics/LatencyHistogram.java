@@ -0,0 +1,127 @@
+package com.amazon.ata.optionals.optionals.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with power-of-two nanosecond buckets: bucket 0 holds
+ * zero-length samples, and bucket i holds samples from 2^(i-1) up to 2^i - 1
+ * nanoseconds. Recording finds the bucket with one leading-zeros count and
+ * bumps a LongAdder, so many threads can record at once without contending.
+ *
+ * Percentiles are reported as the upper bound of the bucket they fall in, so
+ * they may overstate a latency by up to a factor of two.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one sample. Negative samples, which a misbehaving clock can
+     * produce, are recorded as zero.
+     * @param nanos The sample's latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long sample = Math.max(nanos, 0L);
+        bucketCounts[Long.SIZE - Long.numberOfLeadingZeros(sample)].increment();
+        totalNanos.add(sample);
+        maxNanos.accumulate(sample);
+    }
+
+    /**
+     * Copies the histogram's current counts. Samples recorded while copying
+     * may or may not be included.
+     * @return A snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = bucketCounts[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * An immutable copy of a LatencyHistogram's counts.
+     */
+    public static class Snapshot {
+        private final long[] bucketCounts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] bucketCounts, long totalNanos, long maxNanos) {
+            this.bucketCounts = bucketCounts;
+            long sampleCount = 0;
+            for (long bucketCount : bucketCounts) {
+                sampleCount += bucketCount;
+            }
+            this.count = sampleCount;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Estimates a percentile as the upper bound of the bucket it falls in,
+         * capped at the largest sample seen.
+         * @param percentile The percentile to estimate, from 0 to 100.
+         * @return The estimated latency in nanoseconds, or 0 if there are no samples.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " +
+                    percentile + "!");
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    // Shifting into the sign bit makes the last bucket's bound Long.MAX_VALUE
+                    return Math.min((1L << i) - 1, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "count=" + count +
+                ", meanNanos=" + getMeanNanos() +
+                ", p50Nanos=" + getPercentileNanos(50) +
+                ", p99Nanos=" + getPercentileNanos(99) +
+                ", maxNanos=" + maxNanos +
+                '}';
+        }
+    }
+}
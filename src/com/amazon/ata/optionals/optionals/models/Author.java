@@ -1,24 +1,61 @@
 package com.amazon.ata.optionals.optionals.models;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents an author's publishing history by name.
  * Only the books published under this author's name are included.
  * Books published under other pseudonyms will be in their own Authors.
+ *
+ * An author's books are either held in a list or loaded a page at a time
+ * from a BookSource. Authors with a BookSource never hold their whole
+ * backlist: streamBooks() and the best-rated lookups load one page at a time.
  */
 public class Author {
+    /** The page size used when paging over an author whose books are held in a list. */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
     private final String name;
     private final String id;
     private final List<Author> pseudonyms;
     private final List<Book> books;
+    private final BookSource bookSource;
+    private volatile BookRanking ranking;
 
     public Author(String name, String id, List<Author> pseudonyms, List<Book> books) {
         this.name = name;
         this.id = id;
         this.pseudonyms = pseudonyms;
         this.books = books;
+        this.bookSource = null;
+    }
+
+    /**
+     * Creates an author whose books are loaded lazily, a page at a time.
+     * @param name The author's name.
+     * @param id The author's id.
+     * @param pseudonyms The author's other names.
+     * @param bookSource Where to load the author's books from.
+     */
+    public Author(String name, String id, List<Author> pseudonyms, BookSource bookSource) {
+        if (bookSource == null) {
+            throw new IllegalArgumentException("Author must have non-null book source!");
+        }
+        this.name = name;
+        this.id = id;
+        this.pseudonyms = pseudonyms;
+        this.books = null;
+        this.bookSource = bookSource;
     }
 
     public String getName() {
@@ -34,24 +71,268 @@ public class Author {
     }
 
     /**
-     * Finds the highest rated book this author has published.
+     * Returns every book this author has published. For an author with a
+     * BookSource, this loads every page into a new list; use streamBooks()
+     * or getBookPage() to avoid holding the whole backlist.
+     * @return The author's books.
+     */
+    public List<Book> getBooks() {
+        if (bookSource == null) {
+            return books;
+        }
+        List<Book> allBooks = new ArrayList<>();
+        streamBooks().forEach(allBooks::add);
+        return allBooks;
+    }
+
+    /**
+     * Returns whether this author's books are loaded from a BookSource rather than held in memory.
+     * @return True if the books are loaded lazily.
+     */
+    public boolean isLazilyLoaded() {
+        return bookSource != null;
+    }
+
+    /**
+     * Loads one page of this author's books.
+     * @param cursor null for the first page, otherwise the next cursor of the previous page.
+     * @return The page, with the cursor of the page after it, if any.
+     */
+    public BookPage getBookPage(String cursor) {
+        if (bookSource != null) {
+            return bookSource.fetchPage(cursor);
+        }
+        return new ListBookSource(books == null ? new ArrayList<>() : books, DEFAULT_PAGE_SIZE).fetchPage(cursor);
+    }
+
+    /**
+     * Streams this author's books in order. For an author with a BookSource,
+     * pages are loaded as the stream reaches them, so only one page is held
+     * at a time.
+     * @return A lazy stream of the author's books.
+     */
+    public Stream<Book> streamBooks() {
+        if (bookSource == null) {
+            return books == null ? Stream.empty() : books.stream();
+        }
+        Spliterator<Book> spliterator = Spliterators.spliteratorUnknownSize(new PagingIterator(bookSource),
+            Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Keeps a ranking of this author's books that follows new ratings as they
+     * arrive, so getBestRatedBook() is O(1) and getTopRatedBooks() is O(limit)
+     * from then on. Each book is registered with the ranking, so only opt in
+     * for authors whose books are rated often. Calling this again has no effect.
+     *
+     * Authors with a BookSource never keep a ranking, since it would hold
+     * every book.
+     * @return True if this author now keeps a ranking.
+     */
+    public boolean trackBookRanking() {
+        if (bookSource != null) {
+            return false;
+        }
+        if (ranking == null) {
+            synchronized (this) {
+                if (ranking == null) {
+                    ranking = new BookRanking(books);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the highest rated book this author has published. If several
+     * books tie, returns the first. Each call reads every book's cached
+     * rating, unless trackBookRanking() was called, in which case it's O(1).
      * @return An Optional containing the author's highest rated book, if any.
      */
     public Optional<Book> getBestRatedBook() {
-        /* Here's the original, null-ridden implementation:
+        BookRanking currentRanking = ranking;
+        if (currentRanking != null) {
+            return currentRanking.getBestRatedBook();
+        }
+        return findBestRatedBook().getBook();
+    }
+
+    /**
+     * Finds the highest rated book, as getBestRatedBook() does, and whether
+     * this author has any books at all. Both come from the same pass over
+     * the books, so an author with a BookSource only loads its pages once.
+     * @return The author's highest rated book, if any, and whether they have books.
+     */
+    public BestRatedBookResult findBestRatedBook() {
+        BookRanking currentRanking = ranking;
+        if (currentRanking != null) {
+            Optional<Book> book = currentRanking.getBestRatedBook();
+            return new BestRatedBookResult(book, book.isPresent() || !books.isEmpty());
+        }
+
         Book highestRatedBook = null;
-        Double highestRating = -1.0;
-        for (Book book : books) {
-            Double rating = book.getWeightedRating();
-            if (rating != null && rating > highestRating) {
-                highestRating = rating;
+        double highestRating = Double.NEGATIVE_INFINITY;
+        boolean hasBooks = false;
+        Iterator<Book> iterator = streamBooks().iterator();
+        while (iterator.hasNext()) {
+            Book book = iterator.next();
+            hasBooks = true;
+            Optional<Double> rating = book.getWeightedRating();
+            if (rating.isPresent() && rating.get() > highestRating) {
+                highestRating = rating.get();
                 highestRatedBook = book;
             }
         }
-        return highestRatedBook;
-        */
+        return new BestRatedBookResult(Optional.ofNullable(highestRatedBook), hasBooks);
+    }
+
+    /**
+     * Finds the highest rated book this author has published, rating each
+     * book with the given strategy. If several books tie, returns the first.
+     * Unlike getBestRatedBook(), this rates every book on each call.
+     * @param ratingStrategy How to weigh each book's ratings.
+     * @return An Optional containing the author's highest rated book, if any.
+     */
+    public Optional<Book> getBestRatedBook(RatingStrategy ratingStrategy) {
+        if (ratingStrategy == null) {
+            throw new IllegalArgumentException("Rating strategy must not be null!");
+        }
 
-        // PARTICIPANTS: Write a safer, more readable implementation using Optional.
-        return Optional.empty();
+        Book highestRatedBook = null;
+        double highestRating = Double.NEGATIVE_INFINITY;
+        Iterator<Book> iterator = streamBooks().iterator();
+        while (iterator.hasNext()) {
+            Book book = iterator.next();
+            Optional<Double> rating = book.getWeightedRating(ratingStrategy);
+            if (rating.isPresent() && rating.get() > highestRating) {
+                highestRating = rating.get();
+                highestRatedBook = book;
+            }
+        }
+        return Optional.ofNullable(highestRatedBook);
+    }
+
+    /**
+     * Finds this author's highest rated books, highest first. Each call
+     * streams the books through a heap of at most limit books, unless
+     * trackBookRanking() was called, in which case it costs O(limit).
+     * @param limit The most books to return.
+     * @return Up to limit of the author's rated books.
+     */
+    public List<Book> getTopRatedBooks(int limit) {
+        BookRanking currentRanking = ranking;
+        if (currentRanking != null) {
+            return currentRanking.getTopRatedBooks(limit);
+        }
+        return streamTopRatedBooks(limit);
+    }
+
+    private List<Book> streamTopRatedBooks(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Lowest rated, then latest, at the head, so it's the one evicted; ties keep the earlier book
+        Comparator<RatedBook> worstFirst = Comparator.comparingDouble((RatedBook ratedBook) -> ratedBook.rating)
+            .thenComparing(Comparator.comparingLong((RatedBook ratedBook) -> ratedBook.sequence).reversed());
+        PriorityQueue<RatedBook> topRatedBooks = new PriorityQueue<>(worstFirst);
+        long sequence = 0;
+        Iterator<Book> iterator = streamBooks().iterator();
+        while (iterator.hasNext()) {
+            Book book = iterator.next();
+            Optional<Double> rating = book.getWeightedRating();
+            if (!rating.isPresent()) {
+                continue;
+            }
+            RatedBook ratedBook = new RatedBook(book, rating.get(), sequence++);
+            if (topRatedBooks.size() < limit) {
+                topRatedBooks.add(ratedBook);
+            } else if (worstFirst.compare(ratedBook, topRatedBooks.peek()) > 0) {
+                topRatedBooks.poll();
+                topRatedBooks.add(ratedBook);
+            }
+        }
+
+        List<RatedBook> sorted = new ArrayList<>(topRatedBooks);
+        sorted.sort(worstFirst.reversed());
+        List<Book> result = new ArrayList<>(sorted.size());
+        for (RatedBook ratedBook : sorted) {
+            result.add(ratedBook.book);
+        }
+        return result;
+    }
+
+    /**
+     * An author's highest rated book, if any, and whether they have any
+     * books at all, rated or not.
+     */
+    public static class BestRatedBookResult {
+        private final Optional<Book> book;
+        private final boolean hasBooks;
+
+        BestRatedBookResult(Optional<Book> book, boolean hasBooks) {
+            this.book = book;
+            this.hasBooks = hasBooks;
+        }
+
+        public Optional<Book> getBook() {
+            return book;
+        }
+
+        public boolean hasBooks() {
+            return hasBooks;
+        }
+    }
+
+    private static class RatedBook {
+        private final Book book;
+        private final double rating;
+        private final long sequence;
+
+        RatedBook(Book book, double rating, long sequence) {
+            this.book = book;
+            this.rating = rating;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Walks a BookSource's pages, holding only the current page. Nothing is
+     * loaded until the first book is asked for.
+     */
+    private static class PagingIterator implements Iterator<Book> {
+        private final BookSource bookSource;
+        private Iterator<Book> page;
+        private Optional<String> nextCursor;
+
+        PagingIterator(BookSource bookSource) {
+            this.bookSource = bookSource;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page == null) {
+                fetch(null);
+            }
+            while (!page.hasNext() && nextCursor.isPresent()) {
+                fetch(nextCursor.get());
+            }
+            return page.hasNext();
+        }
+
+        private void fetch(String cursor) {
+            BookPage bookPage = bookSource.fetchPage(cursor);
+            page = bookPage.getBooks().iterator();
+            nextCursor = bookPage.getNextCursor();
+        }
+
+        @Override
+        public Book next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
     }
 }
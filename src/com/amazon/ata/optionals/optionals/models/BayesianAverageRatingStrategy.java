@@ -0,0 +1,37 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+
+/**
+ * Rates a book by its average rating after adding a number of imaginary
+ * ratings at a prior mean. Books with few ratings are pulled toward the
+ * prior, so a single five-star rating can't outrank a well-reviewed book.
+ * Books with no ratings get the prior mean.
+ */
+public class BayesianAverageRatingStrategy implements RatingStrategy {
+    private final double priorMean;
+    private final long priorWeight;
+
+    /**
+     * Creates a Bayesian average strategy.
+     * @param priorMean The rating to pull books toward, typically the catalog-wide mean.
+     * @param priorWeight How many imaginary ratings at the prior mean to add.
+     */
+    public BayesianAverageRatingStrategy(double priorMean, long priorWeight) {
+        if (priorMean < Book.MIN_STAR_RATING || priorMean > Book.MAX_STAR_RATING) {
+            throw new IllegalArgumentException(String.format("Prior mean must be between %d and %d, but was %s!",
+                Book.MIN_STAR_RATING, Book.MAX_STAR_RATING, priorMean));
+        }
+        if (priorWeight < 1) {
+            throw new IllegalArgumentException("Prior weight must be positive, but was " + priorWeight + "!");
+        }
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    @Override
+    public Optional<Double> rate(RatingDistribution distribution) {
+        return Optional.of((priorMean * priorWeight + distribution.getTotal()) /
+            (priorWeight + distribution.getCount()));
+    }
+}
@@ -1,15 +1,27 @@
 package com.amazon.ata.optionals.optionals.models;
 
+import java.lang.ref.WeakReference;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.IntSummaryStatistics;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 public class Book {
+    public static final int MIN_STAR_RATING = 1;
+    public static final int MAX_STAR_RATING = 5;
+    private static final WeakReference<BookRanking>[] NO_RANKINGS = newRankingArray(0);
+
     private final String isbn;
     private final String title;
     private final List<Printing> printings;
-    private final List<Integer> starRatings;
+    private final PrintingIndex printingIndex;
+    private final long[] starRatingCounts = new long[MAX_STAR_RATING + 1];
+    private long starRatingTotal;
+    private long starRatingCount;
+    private long starRatingSumOfSquares;
+    private volatile Optional<Double> weightedRating;
+    private volatile WeakReference<BookRanking>[] rankings = NO_RANKINGS;
 
     public Book(String isbn, String title, List<Printing> printings, List<Integer> starRatings) {
         if (isbn == null) {
@@ -30,8 +42,32 @@ public class Book {
 
         this.isbn = isbn;
         this.title = title;
-        this.printings = new ArrayList<>(printings);
-        this.starRatings = new ArrayList<>(starRatings);
+        this.printings = Collections.unmodifiableList(new ArrayList<>(printings));
+        this.printingIndex = new PrintingIndex(this.printings);
+        for (Integer starRating : starRatings) {
+            if (starRating == null) {
+                throw new IllegalArgumentException("Book must not have null star ratings!");
+            }
+            countStarRating(starRating);
+        }
+        this.weightedRating = computeWeightedRating();
+    }
+
+    /**
+     * Creates a book from how many ratings of each star value it has, without
+     * expanding them into one list entry per rating.
+     * @param isbn The book's ISBN.
+     * @param title The book's title.
+     * @param printings The book's printings.
+     * @param countsByStarRating How many ratings of each star value the book
+     *     has, indexed by star rating. Must have MAX_STAR_RATING + 1 entries.
+     * @return The new book.
+     */
+    public static Book fromStarRatingCounts(String isbn, String title, List<Printing> printings,
+                                            long[] countsByStarRating) {
+        Book book = new Book(isbn, title, printings, Collections.emptyList());
+        book.addRatings(countsByStarRating);
+        return book;
     }
 
     public String getIsbn() {
@@ -42,12 +78,111 @@ public class Book {
         return title;
     }
 
+    /**
+     * Returns a copy of this book's printings that the caller is free to modify.
+     * Use getPrintingsView() if you only need to read them.
+     * @return A new list containing the book's printings.
+     */
     public List<Printing> getPrintings() {
         return new ArrayList<>(printings);
     }
 
-    public List<Integer> getStarRatings() {
-        return new ArrayList<>(starRatings);
+    /**
+     * Returns a read-only view of this book's printings without copying them.
+     * @return An unmodifiable list of the book's printings.
+     */
+    public List<Printing> getPrintingsView() {
+        return printings;
+    }
+
+    /**
+     * Returns every star rating left for this book, in ascending order.
+     * @return A new list containing the book's star ratings.
+     */
+    public synchronized List<Integer> getStarRatings() {
+        List<Integer> starRatings = new ArrayList<>((int) starRatingCount);
+        for (int stars = MIN_STAR_RATING; stars <= MAX_STAR_RATING; stars++) {
+            for (long i = 0; i < starRatingCounts[stars]; i++) {
+                starRatings.add(stars);
+            }
+        }
+        return starRatings;
+    }
+
+    /**
+     * Returns how many ratings of exactly this many stars have been left.
+     * @param stars The star rating to count, from MIN_STAR_RATING to MAX_STAR_RATING.
+     * @return The number of ratings with this many stars.
+     */
+    public synchronized long getStarRatingCount(int stars) {
+        validateStarRating(stars);
+        return starRatingCounts[stars];
+    }
+
+    /**
+     * Returns the total number of ratings left for this book.
+     * @return The number of ratings.
+     */
+    public synchronized long getStarRatingCount() {
+        return starRatingCount;
+    }
+
+    /**
+     * Records a new star rating for this book. Updates the weighted rating in
+     * constant time, without revisiting earlier ratings, then repositions the
+     * book in every BookRanking that contains it.
+     * @param starRating The rating left, from MIN_STAR_RATING to MAX_STAR_RATING.
+     */
+    public void addRating(int starRating) {
+        synchronized (this) {
+            countStarRating(starRating);
+            weightedRating = computeWeightedRating();
+        }
+
+        // Rankings read the current rating themselves, so notifying outside the lock can't leave them stale
+        notifyRankings();
+    }
+
+    /**
+     * Records a batch of star ratings for this book at once, taking the lock
+     * and notifying rankings once for the whole batch rather than per rating.
+     * @param countsByStarRating How many ratings of each star value to add,
+     *     indexed by star rating. Must have MAX_STAR_RATING + 1 entries.
+     */
+    public void addRatings(long[] countsByStarRating) {
+        if (countsByStarRating == null || countsByStarRating.length != MAX_STAR_RATING + 1) {
+            throw new IllegalArgumentException(
+                String.format("Rating counts must have %d entries!", MAX_STAR_RATING + 1));
+        }
+
+        long addedTotal = 0;
+        long addedCount = 0;
+        long addedSumOfSquares = 0;
+        for (int stars = 0; stars < countsByStarRating.length; stars++) {
+            long count = countsByStarRating[stars];
+            if (count < 0 || (count > 0 && stars < MIN_STAR_RATING)) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid rating count %d for %d stars!", count, stars));
+            }
+            addedTotal += stars * count;
+            addedCount += count;
+            addedSumOfSquares += (long) stars * stars * count;
+        }
+        if (addedCount == 0) {
+            return;
+        }
+
+        synchronized (this) {
+            for (int stars = MIN_STAR_RATING; stars <= MAX_STAR_RATING; stars++) {
+                starRatingCounts[stars] += countsByStarRating[stars];
+            }
+            starRatingTotal += addedTotal;
+            starRatingCount += addedCount;
+            starRatingSumOfSquares += addedSumOfSquares;
+            weightedRating = computeWeightedRating();
+        }
+
+        notifyRankings();
     }
 
     /**
@@ -58,26 +193,37 @@ public class Book {
      * verified reviewers, and uses a root-mean-square algorithm to calculate
      * a weighted star rating.
      *
-     * This implementation, however, just averages a list of ratings.
+     * This implementation, however, just averages the ratings. The average is
+     * kept up to date as ratings are added, so this call does no work.
      * @return An Optional of the book's weighted star rating, if any ratings
      *     have been left.
      */
     public Optional<Double> getWeightedRating() {
-        // We'll keep this stream code, because it's so much easier
-        IntSummaryStatistics statistics = starRatings.stream()
-            .mapToInt(Integer::intValue)
-            .summaryStatistics();
+        return weightedRating;
+    }
 
-        /* Here's the original implementation:
-        if (statistics.getCount() == 0) {
-            return null;
-        } else {
-            return statistics.getAverage();
+    /**
+     * Rates the book with the given strategy rather than the default average.
+     * Strategies work from the book's rating histogram, so this is constant
+     * time however many ratings the book has.
+     * @param ratingStrategy How to weigh the ratings.
+     * @return An Optional of the book's weighted star rating under that
+     *     strategy, if the strategy can rate it.
+     */
+    public Optional<Double> getWeightedRating(RatingStrategy ratingStrategy) {
+        if (ratingStrategy == null) {
+            throw new IllegalArgumentException("Rating strategy must not be null!");
         }
-        */
+        return ratingStrategy.rate(getRatingDistribution());
+    }
 
-        // PARTICIPANTS: Make this safer with Optional.
-        return Optional.empty();
+    /**
+     * Returns a consistent snapshot of the book's ratings histogram and sums.
+     * @return The book's current RatingDistribution.
+     */
+    public synchronized RatingDistribution getRatingDistribution() {
+        return new RatingDistribution(starRatingCounts.clone(), starRatingCount, starRatingTotal,
+            starRatingSumOfSquares);
     }
 
     /**
@@ -86,20 +232,109 @@ public class Book {
      *     if any.
      */
     public Optional<Printing> getPaperback() {
-        /* Here's the original implementation:
-        Printing latestPaperback = null;
-        for (Printing printing : printings) {
-            if (printing.getPrintingType() == PrintingType.PAPERBACK) {
-                if (latestPaperback == null
-                    || latestPaperback.getPrintDate().before(printing.getPrintDate())) {
-                    latestPaperback = printing;
-                }
+        return getLatestPrinting(PrintingType.PAPERBACK);
+    }
+
+    /**
+     * Returns the latest printing of the book of the given type. If several
+     * printings share the latest date, returns the first one in the printings list.
+     * @param printingType The type of printing to search for.
+     * @return An Optional containing the latest printing of that type, if any.
+     */
+    public Optional<Printing> getLatestPrinting(PrintingType printingType) {
+        if (printingType == null) {
+            throw new IllegalArgumentException("Printing type must not be null!");
+        }
+        return Optional.ofNullable(printingIndex.getLatest(printingType));
+    }
+
+    /**
+     * Returns the printings of the book of the given type that were printed
+     * at or after from and before to, oldest first.
+     * @param printingType The type of printing to search for.
+     * @param from The earliest print date to include.
+     * @param to The print date to stop before.
+     * @return An unmodifiable list of the matching printings.
+     */
+    public List<Printing> getPrintingsBetween(PrintingType printingType, Instant from, Instant to) {
+        if (printingType == null || from == null || to == null) {
+            throw new IllegalArgumentException("Printing type and date range must not be null!");
+        }
+        return printingIndex.getBetween(printingType, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Registers a ranking to reposition this book in when its rating changes.
+     * Rankings are held weakly, so a ranking nobody else references stops
+     * being updated once it's collected, even if it was never closed.
+     */
+    synchronized void addRanking(BookRanking ranking) {
+        List<WeakReference<BookRanking>> liveRankings = liveRankingsExcept(null);
+        liveRankings.add(new WeakReference<>(ranking));
+        publishRankings(liveRankings);
+    }
+
+    synchronized void removeRanking(BookRanking ranking) {
+        publishRankings(liveRankingsExcept(ranking));
+    }
+
+    /**
+     * Returns how many rankings this book is registered in and that haven't
+     * been collected yet.
+     * @return The number of live rankings.
+     */
+    synchronized int getRankingCount() {
+        return liveRankingsExcept(null).size();
+    }
+
+    private List<WeakReference<BookRanking>> liveRankingsExcept(BookRanking excluded) {
+        List<WeakReference<BookRanking>> liveRankings = new ArrayList<>(rankings.length + 1);
+        for (WeakReference<BookRanking> reference : rankings) {
+            BookRanking ranking = reference.get();
+            if (ranking != null && ranking != excluded) {
+                liveRankings.add(reference);
             }
         }
-        return latestPaperback;
-        */
+        return liveRankings;
+    }
+
+    private void publishRankings(List<WeakReference<BookRanking>> liveRankings) {
+        rankings = liveRankings.isEmpty() ? NO_RANKINGS : liveRankings.toArray(newRankingArray(liveRankings.size()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static WeakReference<BookRanking>[] newRankingArray(int length) {
+        return new WeakReference[length];
+    }
 
-        // PARTICIPANTS: Make this safer with Optional.
-        return Optional.empty();
+    private void notifyRankings() {
+        for (WeakReference<BookRanking> reference : rankings) {
+            BookRanking ranking = reference.get();
+            if (ranking != null) {
+                ranking.update(this);
+            }
+        }
+    }
+
+    private static void validateStarRating(int starRating) {
+        if (starRating < MIN_STAR_RATING || starRating > MAX_STAR_RATING) {
+            throw new IllegalArgumentException(String.format("Star rating must be between %d and %d, but was %d!",
+                MIN_STAR_RATING, MAX_STAR_RATING, starRating));
+        }
+    }
+
+    private void countStarRating(int starRating) {
+        validateStarRating(starRating);
+        starRatingCounts[starRating]++;
+        starRatingTotal += starRating;
+        starRatingCount++;
+        starRatingSumOfSquares += starRating * starRating;
+    }
+
+    private Optional<Double> computeWeightedRating() {
+        if (starRatingCount == 0) {
+            return Optional.empty();
+        }
+        return Optional.of((double) starRatingTotal / starRatingCount);
     }
 }
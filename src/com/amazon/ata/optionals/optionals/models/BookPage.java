@@ -0,0 +1,39 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of an author's books, and the cursor to load the next page with.
+ */
+public class BookPage {
+    private final List<Book> books;
+    private final String nextCursor;
+
+    /**
+     * Creates a page of books.
+     * @param books The books on this page.
+     * @param nextCursor The cursor of the next page, or null if this is the last page.
+     */
+    public BookPage(List<Book> books, String nextCursor) {
+        if (books == null) {
+            throw new IllegalArgumentException("Book page must have non-null books list!");
+        }
+        this.books = Collections.unmodifiableList(new ArrayList<>(books));
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Book> getBooks() {
+        return books;
+    }
+
+    /**
+     * Returns the cursor to pass to BookSource.fetchPage for the next page.
+     * @return An Optional containing the next page's cursor, or empty if this is the last page.
+     */
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -0,0 +1,158 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps a set of books ordered by weighted rating, highest first, as their
+ * ratings change. Books reposition themselves here whenever Book.addRating
+ * is called, so reading the top K books costs O(K) no matter how many books
+ * are ranked.
+ *
+ * Books with equal ratings keep the order they were added in. Unrated books
+ * are tracked but not ranked until their first rating arrives. The best rated
+ * book is republished after every change, so reading it takes no lock.
+ *
+ * Books hold their rankings weakly, so a ranking that is no longer referenced
+ * stops costing anything once it is collected. Call close() to unregister it
+ * from its books right away.
+ */
+public class BookRanking {
+    private static final Comparator<RankedBook> HIGHEST_RATED_FIRST =
+        Comparator.comparingDouble((RankedBook rankedBook) -> rankedBook.rating).reversed()
+            .thenComparingLong(rankedBook -> rankedBook.sequence);
+
+    private final NavigableSet<RankedBook> rankedBooks = new TreeSet<>(HIGHEST_RATED_FIRST);
+    private final Map<Book, RankedBook> rankedBookByBook = new IdentityHashMap<>();
+    private long nextSequence;
+    private boolean closed;
+    private volatile Optional<Book> bestRatedBook = Optional.empty();
+
+    public BookRanking() {
+    }
+
+    /**
+     * Creates a ranking of these books.
+     * @param books The books to rank, in the order that breaks rating ties.
+     */
+    public BookRanking(Collection<Book> books) {
+        if (books == null) {
+            throw new IllegalArgumentException("Books must not be null!");
+        }
+        for (Book book : books) {
+            add(book);
+        }
+    }
+
+    /**
+     * Adds a book to the ranking, after every book already added. Adding a
+     * book twice has no effect.
+     * @param book The book to rank.
+     */
+    public void add(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book must not be null!");
+        }
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Cannot add books to a closed BookRanking!");
+            }
+            if (rankedBookByBook.containsKey(book)) {
+                return;
+            }
+            rankedBookByBook.put(book, new RankedBook(book, nextSequence++, Double.NaN));
+        }
+        book.addRanking(this);
+        update(book);
+    }
+
+    /**
+     * Unregisters this ranking from every book in it and empties it. Its
+     * books no longer update it when rated. Closing twice has no effect.
+     */
+    public void close() {
+        List<Book> books;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            books = new ArrayList<>(rankedBookByBook.keySet());
+            rankedBookByBook.clear();
+            rankedBooks.clear();
+            bestRatedBook = Optional.empty();
+        }
+        for (Book book : books) {
+            book.removeRanking(this);
+        }
+    }
+
+    /**
+     * Returns the highest rated book in the ranking.
+     * @return An Optional containing the highest rated book, if any book has been rated.
+     */
+    public Optional<Book> getBestRatedBook() {
+        return bestRatedBook;
+    }
+
+    /**
+     * Returns the highest rated books in the ranking, highest first.
+     * @param limit The most books to return.
+     * @return Up to limit rated books.
+     */
+    public synchronized List<Book> getTopRatedBooks(int limit) {
+        List<Book> topRatedBooks = new ArrayList<>(Math.min(Math.max(limit, 0), rankedBooks.size()));
+        Iterator<RankedBook> iterator = rankedBooks.iterator();
+        while (topRatedBooks.size() < limit && iterator.hasNext()) {
+            topRatedBooks.add(iterator.next().book);
+        }
+        return topRatedBooks;
+    }
+
+    synchronized void update(Book book) {
+        RankedBook previous = rankedBookByBook.get(book);
+        if (previous == null) {
+            return;
+        }
+
+        double rating = book.getWeightedRating().orElse(Double.NaN);
+        if (Double.compare(rating, previous.rating) == 0) {
+            return;
+        }
+        if (!Double.isNaN(previous.rating)) {
+            rankedBooks.remove(previous);
+        }
+
+        RankedBook current = new RankedBook(book, previous.sequence, rating);
+        rankedBookByBook.put(book, current);
+        if (!Double.isNaN(rating)) {
+            rankedBooks.add(current);
+        }
+
+        Book best = rankedBooks.isEmpty() ? null : rankedBooks.first().book;
+        if (best != bestRatedBook.orElse(null)) {
+            bestRatedBook = Optional.ofNullable(best);
+        }
+    }
+
+    private static class RankedBook {
+        private final Book book;
+        private final long sequence;
+        private final double rating;
+
+        RankedBook(Book book, long sequence, double rating) {
+            this.book = book;
+            this.sequence = sequence;
+            this.rating = rating;
+        }
+    }
+}
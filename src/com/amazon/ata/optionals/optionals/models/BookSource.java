@@ -0,0 +1,15 @@
+package com.amazon.ata.optionals.optionals.models;
+
+/**
+ * Loads an author's books a page at a time, so authors with very large
+ * backlists don't need every book in memory at once.
+ */
+public interface BookSource {
+    /**
+     * Loads one page of books.
+     * @param cursor Where to start: null for the first page, otherwise the
+     *     next cursor of the previous page.
+     * @return The page of books, with the cursor of the page after it, if any.
+     */
+    BookPage fetchPage(String cursor);
+}
@@ -0,0 +1,50 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.List;
+
+/**
+ * A BookSource over books already in memory. Cursors are offsets into the
+ * list.
+ */
+public class ListBookSource implements BookSource {
+    private final List<Book> books;
+    private final int pageSize;
+
+    /**
+     * Pages over a list of books.
+     * @param books The books to page over.
+     * @param pageSize The most books per page.
+     */
+    public ListBookSource(List<Book> books, int pageSize) {
+        if (books == null) {
+            throw new IllegalArgumentException("Books must not be null!");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive, but was " + pageSize + "!");
+        }
+        this.books = books;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public BookPage fetchPage(String cursor) {
+        int from = parseCursor(cursor);
+        int to = Math.min(from + pageSize, books.size());
+        return new BookPage(books.subList(from, to), to < books.size() ? Integer.toString(to) : null);
+    }
+
+    private int parseCursor(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset >= 0 && offset <= books.size()) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the other invalid cursors
+        }
+        throw new IllegalArgumentException("Invalid book cursor: " + cursor + "!");
+    }
+}
@@ -0,0 +1,17 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+
+/**
+ * Rates a book by the average of its star ratings. This is the rating
+ * Book.getWeightedRating() returns.
+ */
+public class MeanRatingStrategy implements RatingStrategy {
+    @Override
+    public Optional<Double> rate(RatingDistribution distribution) {
+        if (distribution.getCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of((double) distribution.getTotal() / distribution.getCount());
+    }
+}
@@ -0,0 +1,60 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out one shared Publisher instance per publisher id, so a catalog with
+ * millions of printings holds only as many Publishers as there are real
+ * publishers. Safe to share between threads.
+ *
+ * AuthorCatalogLoader, MappedAuthorDao and ColumnarBookStore each intern the
+ * publishers they read through a registry, which can be passed in so they
+ * all share the same instances. Publishers constructed directly, such as for
+ * a Printing built in code, aren't registered unless passed to intern.
+ */
+public class PublisherRegistry {
+    private final ConcurrentMap<String, Publisher> publisherById = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registered Publisher with this id, registering a new one
+     * with these details if there isn't one yet. The details of an already
+     * registered Publisher are not changed.
+     * @param id The publisher's id.
+     * @param name The publisher's name, used only if the id is new.
+     * @param contact The publisher's contact, used only if the id is new.
+     * @return The shared Publisher for this id.
+     */
+    public Publisher intern(String id, String name, String contact) {
+        if (id == null) {
+            throw new IllegalArgumentException("Publisher id must not be null!");
+        }
+        return publisherById.computeIfAbsent(id, unused -> new Publisher(id, name, contact));
+    }
+
+    /**
+     * Returns the registered Publisher equal to this one, registering this
+     * one if its id is new. A publisher without an id isn't equal to any
+     * other, so it's returned as is.
+     * @param publisher The publisher to intern.
+     * @return The shared Publisher with this publisher's id.
+     */
+    public Publisher intern(Publisher publisher) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("Publisher must not be null!");
+        }
+        if (publisher.getId() == null) {
+            return publisher;
+        }
+        return intern(publisher.getId(), publisher.getName(), publisher.getContact());
+    }
+
+    public Optional<Publisher> findById(String id) {
+        return Optional.ofNullable(publisherById.get(id));
+    }
+
+    public int size() {
+        return publisherById.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.amazon.ata.optionals.optionals.models;
+
+/**
+ * An immutable snapshot of a book's star ratings: how many of each star
+ * value were left, plus running sums. Everything a RatingStrategy needs is
+ * precomputed, so strategies rate a book in constant time however many
+ * ratings it has.
+ */
+public class RatingDistribution {
+    private final long[] countsByStarRating;
+    private final long count;
+    private final long total;
+    private final long sumOfSquares;
+
+    RatingDistribution(long[] countsByStarRating, long count, long total, long sumOfSquares) {
+        this.countsByStarRating = countsByStarRating;
+        this.count = count;
+        this.total = total;
+        this.sumOfSquares = sumOfSquares;
+    }
+
+    /**
+     * Returns how many ratings of exactly this many stars were left.
+     * @param stars The star rating to count, from Book.MIN_STAR_RATING to Book.MAX_STAR_RATING.
+     * @return The number of ratings with this many stars.
+     */
+    public long getCount(int stars) {
+        if (stars < Book.MIN_STAR_RATING || stars > Book.MAX_STAR_RATING) {
+            throw new IllegalArgumentException(String.format("Star rating must be between %d and %d, but was %d!",
+                Book.MIN_STAR_RATING, Book.MAX_STAR_RATING, stars));
+        }
+        return countsByStarRating[stars];
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSumOfSquares() {
+        return sumOfSquares;
+    }
+}
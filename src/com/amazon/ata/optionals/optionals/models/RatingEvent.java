@@ -0,0 +1,30 @@
+package com.amazon.ata.optionals.optionals.models;
+
+/**
+ * A single star rating left for a book, identified by ISBN.
+ */
+public class RatingEvent {
+    private final String isbn;
+    private final int starRating;
+
+    public RatingEvent(String isbn, int starRating) {
+        this.isbn = isbn;
+        this.starRating = starRating;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public int getStarRating() {
+        return starRating;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingEvent{" +
+            "isbn='" + isbn + '\'' +
+            ", starRating=" + starRating +
+            '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+
+/**
+ * A way of turning a book's star ratings into a single weighted rating.
+ * Implementations work from a RatingDistribution, so they run in constant
+ * time regardless of how many ratings a book has.
+ */
+public interface RatingStrategy {
+    /**
+     * Computes a weighted star rating.
+     * @param distribution The book's ratings.
+     * @return An Optional of the weighted rating, if the strategy can rate the book.
+     */
+    Optional<Double> rate(RatingDistribution distribution);
+}
@@ -0,0 +1,17 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+
+/**
+ * Rates a book by the root-mean-square of its star ratings, which weighs
+ * high ratings more heavily than the plain average does.
+ */
+public class RootMeanSquareRatingStrategy implements RatingStrategy {
+    @Override
+    public Optional<Double> rate(RatingDistribution distribution) {
+        if (distribution.getCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Math.sqrt((double) distribution.getSumOfSquares() / distribution.getCount()));
+    }
+}
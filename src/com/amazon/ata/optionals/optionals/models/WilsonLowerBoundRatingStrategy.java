@@ -0,0 +1,59 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import java.util.Optional;
+
+/**
+ * Rates a book by the lower bound of the Wilson score interval for the
+ * share of its ratings that are positive, scaled onto the star range. This
+ * answers "how good is this book at least, given how much evidence we have",
+ * so it ranks a book with many good ratings above one with a few perfect ones.
+ */
+public class WilsonLowerBoundRatingStrategy implements RatingStrategy {
+    /** The z-score for a 95% confidence interval. */
+    public static final double DEFAULT_Z = 1.96;
+    /** The lowest star rating counted as positive by default. */
+    public static final int DEFAULT_POSITIVE_STAR_RATING = 4;
+
+    private final double z;
+    private final int positiveStarRating;
+
+    public WilsonLowerBoundRatingStrategy() {
+        this(DEFAULT_Z, DEFAULT_POSITIVE_STAR_RATING);
+    }
+
+    /**
+     * Creates a Wilson lower bound strategy.
+     * @param z The z-score of the confidence level to use.
+     * @param positiveStarRating The lowest star rating counted as positive.
+     */
+    public WilsonLowerBoundRatingStrategy(double z, int positiveStarRating) {
+        if (z <= 0) {
+            throw new IllegalArgumentException("Z must be positive, but was " + z + "!");
+        }
+        if (positiveStarRating < Book.MIN_STAR_RATING || positiveStarRating > Book.MAX_STAR_RATING) {
+            throw new IllegalArgumentException(String.format(
+                "Positive star rating must be between %d and %d, but was %d!",
+                Book.MIN_STAR_RATING, Book.MAX_STAR_RATING, positiveStarRating));
+        }
+        this.z = z;
+        this.positiveStarRating = positiveStarRating;
+    }
+
+    @Override
+    public Optional<Double> rate(RatingDistribution distribution) {
+        long count = distribution.getCount();
+        if (count == 0) {
+            return Optional.empty();
+        }
+
+        long positive = 0;
+        for (int stars = positiveStarRating; stars <= Book.MAX_STAR_RATING; stars++) {
+            positive += distribution.getCount(stars);
+        }
+        double share = (double) positive / count;
+        double zSquared = z * z;
+        double lowerBound = (share + zSquared / (2 * count) -
+            z * Math.sqrt((share * (1 - share) + zSquared / (4 * count)) / count)) / (1 + zSquared / count);
+        return Optional.of(Book.MIN_STAR_RATING + lowerBound * (Book.MAX_STAR_RATING - Book.MIN_STAR_RATING));
+    }
+}
@@ -0,0 +1,258 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes an author map to a compact binary snapshot that MappedAuthorDao can
+ * serve straight from a memory-mapped file.
+ *
+ * Authors with a BookSource are streamed twice, once to collect publishers and
+ * once to write their record; only one author's books are held at a time.
+ *
+ * All numbers are big-endian, and all offsets are from the start of the
+ * file, so a snapshot is limited to 2 GB. Strings are an int byte length
+ * (-1 for null) followed by UTF-8 bytes. The file holds, in order:
+ * <ol>
+ *   <li>A header: MAGIC, VERSION, the author, hash slot and publisher counts,
+ *       and the offsets of the sections below.</li>
+ *   <li>The publisher table: id, name and contact of each distinct publisher.</li>
+ *   <li>Author records: name, id, pseudonyms as author numbers, then each
+ *       book's ISBN, title, per-star rating counts and printings. A printing
+ *       is its type ordinal (byte, -1 for none), publisher number (-1 for
+ *       none) and print date in epoch millis.</li>
+ *   <li>The author table: the offset of each author record, by author number.</li>
+ *   <li>The hash table: a power-of-two number of slots, each holding the
+ *       key's String.hashCode(), the offset of the key string and the author
+ *       number (-1 for an empty slot). Collisions probe linearly.</li>
+ *   <li>The key strings referenced by the hash table.</li>
+ * </ol>
+ */
+public final class AuthorSnapshot {
+    static final int MAGIC = 0x41555448;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int SLOT_BYTES = 12;
+    static final int EMPTY_SLOT = -1;
+    static final int NONE = -1;
+
+    private AuthorSnapshot() {
+    }
+
+    /**
+     * Writes every author in the map, and every author reachable through
+     * their pseudonyms, to a new snapshot file, replacing any existing file.
+     * Lookups from the snapshot use the map's keys.
+     * @param authorByName The authors to write, keyed by name or pseudonym.
+     * @param file Where to write the snapshot.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(Map<String, Author> authorByName, Path file) throws IOException {
+        if (authorByName == null || file == null) {
+            throw new IllegalArgumentException("Author map and file must not be null!");
+        }
+
+        List<Author> authors = new ArrayList<>();
+        Map<Author, Integer> numberByAuthor = new IdentityHashMap<>();
+        Deque<Author> toVisit = new ArrayDeque<>();
+        for (Author author : authorByName.values()) {
+            number(author, authors, numberByAuthor, toVisit);
+        }
+        while (!toVisit.isEmpty()) {
+            Author author = toVisit.pop();
+            if (author.getPseudonyms() != null) {
+                for (Author pseudonym : author.getPseudonyms()) {
+                    number(pseudonym, authors, numberByAuthor, toVisit);
+                }
+            }
+        }
+
+        List<Publisher> publishers = new ArrayList<>();
+        Map<Publisher, Integer> numberByPublisher = new HashMap<>();
+        for (Author author : authors) {
+            author.streamBooks().forEach(book -> {
+                for (Printing printing : book.getPrintingsView()) {
+                    printing.getPublisher().ifPresent(publisher -> numberByPublisher.computeIfAbsent(publisher,
+                        unused -> {
+                            publishers.add(publisher);
+                            return publishers.size() - 1;
+                        }));
+                }
+            });
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            int publisherTableOffset = position(out);
+            out.writeInt(publishers.size());
+            for (Publisher publisher : publishers) {
+                writeString(out, publisher.getId());
+                writeString(out, publisher.getName());
+                writeString(out, publisher.getContact());
+            }
+
+            int[] authorOffsets = new int[authors.size()];
+            for (int i = 0; i < authors.size(); i++) {
+                authorOffsets[i] = position(out);
+                writeAuthor(out, authors.get(i), numberByAuthor, numberByPublisher);
+            }
+
+            int authorTableOffset = position(out);
+            for (int authorOffset : authorOffsets) {
+                out.writeInt(authorOffset);
+            }
+
+            int slotCount = Integer.highestOneBit(Math.max(1, authorByName.size() * 2 - 1)) << 1;
+            int[] slotHashes = new int[slotCount];
+            String[] slotKeys = new String[slotCount];
+            int[] slotAuthors = new int[slotCount];
+            Arrays.fill(slotAuthors, EMPTY_SLOT);
+            for (Map.Entry<String, Author> entry : authorByName.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                int hash = entry.getKey().hashCode();
+                int slot = firstSlot(hash, slotCount);
+                while (slotAuthors[slot] != EMPTY_SLOT) {
+                    slot = (slot + 1) & (slotCount - 1);
+                }
+                slotHashes[slot] = hash;
+                slotKeys[slot] = entry.getKey();
+                slotAuthors[slot] = numberByAuthor.get(entry.getValue());
+            }
+
+            int hashTableOffset = position(out);
+            long keyOffset = hashTableOffset + (long) slotCount * SLOT_BYTES;
+            for (int slot = 0; slot < slotCount; slot++) {
+                out.writeInt(slotHashes[slot]);
+                out.writeInt(slotKeys[slot] == null ? NONE : checkedOffset(keyOffset));
+                out.writeInt(slotAuthors[slot]);
+                if (slotKeys[slot] != null) {
+                    keyOffset += Integer.BYTES + utf8(slotKeys[slot]).length;
+                }
+            }
+            for (String key : slotKeys) {
+                if (key != null) {
+                    writeString(out, key);
+                }
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(authors.size())
+                .putInt(slotCount)
+                .putInt(publisherTableOffset)
+                .putInt(authorTableOffset)
+                .putInt(hashTableOffset)
+                .putInt(0);
+            header.flip();
+            channel.write(header, 0);
+        }
+    }
+
+    static int firstSlot(int hash, int slotCount) {
+        // Spread the high bits down, as HashMap does, before masking
+        return (hash ^ (hash >>> 16)) & (slotCount - 1);
+    }
+
+    private static void number(Author author, List<Author> authors, Map<Author, Integer> numberByAuthor,
+                               Deque<Author> toVisit) {
+        if (author != null && !numberByAuthor.containsKey(author)) {
+            numberByAuthor.put(author, authors.size());
+            authors.add(author);
+            toVisit.push(author);
+        }
+    }
+
+    private static void writeAuthor(DataOutputStream out, Author author, Map<Author, Integer> numberByAuthor,
+                                    Map<Publisher, Integer> numberByPublisher) throws IOException {
+        writeString(out, author.getName());
+        writeString(out, author.getId());
+
+        List<Author> pseudonyms = new ArrayList<>();
+        if (author.getPseudonyms() != null) {
+            for (Author pseudonym : author.getPseudonyms()) {
+                if (pseudonym != null) {
+                    pseudonyms.add(pseudonym);
+                }
+            }
+        }
+        out.writeInt(pseudonyms.size());
+        for (Author pseudonym : pseudonyms) {
+            out.writeInt(numberByAuthor.get(pseudonym));
+        }
+
+        List<Book> books = author.streamBooks().collect(Collectors.toList());
+        out.writeInt(books.size());
+        for (Book book : books) {
+            writeString(out, book.getIsbn());
+            writeString(out, book.getTitle());
+            for (int stars = Book.MIN_STAR_RATING; stars <= Book.MAX_STAR_RATING; stars++) {
+                out.writeLong(book.getStarRatingCount(stars));
+            }
+            out.writeInt(book.getPrintingsView().size());
+            for (Printing printing : book.getPrintingsView()) {
+                out.writeByte(printing.getPrintingType() == null ? NONE : printing.getPrintingType().ordinal());
+                out.writeInt(printing.getPublisher().map(numberByPublisher::get).orElse(NONE));
+                out.writeLong(printing.getPrintDateMillis());
+            }
+        }
+    }
+
+    private static int position(DataOutputStream out) {
+        return checkedOffset((long) HEADER_BYTES + out.size());
+    }
+
+    /**
+     * Narrows a file offset to the int the snapshot format stores.
+     * @param offset The offset, computed in long arithmetic.
+     * @return The offset as an int.
+     * @throws IllegalArgumentException if the offset doesn't fit in an int.
+     */
+    static int checkedOffset(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Catalog is too large for a single snapshot file!");
+        }
+        return (int) offset;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        byte[] bytes = utf8(value);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
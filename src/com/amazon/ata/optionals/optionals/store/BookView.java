@@ -0,0 +1,76 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import java.util.Optional;
+
+/**
+ * A movable window onto one book in a ColumnarBookStore, with the same read
+ * accessors as Book. Moving the view to another book allocates nothing, so
+ * one view can walk the whole store.
+ */
+public final class BookView {
+    private final ColumnarBookStore store;
+    private final PrintingView paperback;
+    private int bookIndex;
+
+    BookView(ColumnarBookStore store) {
+        this.store = store;
+        this.paperback = new PrintingView(store);
+    }
+
+    /**
+     * Points this view at another book.
+     * @param bookIndex The index of the book in the store.
+     * @return This view.
+     */
+    public BookView moveTo(int bookIndex) {
+        this.bookIndex = store.checkBookIndex(bookIndex);
+        return this;
+    }
+
+    public int getIndex() {
+        return bookIndex;
+    }
+
+    public String getIsbn() {
+        return store.isbn(bookIndex);
+    }
+
+    public String getTitle() {
+        return store.title(bookIndex);
+    }
+
+    public long getStarRatingCount() {
+        return store.starRatingCount(bookIndex);
+    }
+
+    public long getStarRatingCount(int stars) {
+        return store.starRatingCount(bookIndex, stars);
+    }
+
+    /**
+     * Averages the book's ratings from its stored aggregates, as Book does.
+     * @return An Optional of the book's weighted star rating, if any ratings
+     *     have been left.
+     */
+    public Optional<Double> getWeightedRating() {
+        long count = store.starRatingCount(bookIndex);
+        if (count == 0) {
+            return Optional.empty();
+        }
+        return Optional.of((double) store.starRatingTotal(bookIndex) / count);
+    }
+
+    /**
+     * Returns the latest paperback printing of the book. The returned view is
+     * reused: it is repositioned by the next call to this method.
+     * @return An Optional containing a view of the latest paperback printing
+     *     of the book, if any.
+     */
+    public Optional<PrintingView> getPaperback() {
+        int printingIndex = store.latestPaperback(bookIndex);
+        if (printingIndex < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(paperback.moveTo(printingIndex));
+    }
+}
@@ -0,0 +1,313 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.PublisherRegistry;
+import com.amazon.ata.optionals.optionals.models.RatingDistribution;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Keeps books, their rating aggregates and their printings in columnar,
+ * off-heap buffers instead of as Book and Printing objects. Each book and
+ * printing is identified by its index in the store, and is read through a
+ * reusable BookView or PrintingView.
+ *
+ * Only publishers stay on the heap, since there are few of them and every
+ * printing shares them. They're interned through a PublisherRegistry, so
+ * stores built with the same registry share Publisher instances. Each column is a single direct buffer, so a store
+ * holds at most about two billion bytes of ISBNs and titles.
+ *
+ * The store is read-only once built, and safe to read from many threads;
+ * the views are not, so give each thread its own.
+ */
+public class ColumnarBookStore {
+    private static final int STAR_RATINGS = Book.MAX_STAR_RATING - Book.MIN_STAR_RATING + 1;
+    private static final PrintingType[] PRINTING_TYPES = PrintingType.values();
+    private static final byte NO_PRINTING_TYPE = -1;
+    private static final int NO_PUBLISHER = -1;
+    private static final int NO_PRINTING = -1;
+    private static final int NO_BOOK = -1;
+
+    private final int bookCount;
+    private final int printingCount;
+
+    // Book columns
+    private final ByteBuffer strings;
+    private final IntBuffer isbnOffsets;
+    private final IntBuffer titleOffsets;
+    private final LongBuffer starRatingCounts;
+    private final LongBuffer starRatingTotals;
+    private final LongBuffer starRatingCountTotals;
+    private final IntBuffer printingStarts;
+    private final IntBuffer latestPaperbacks;
+
+    // Printing columns
+    private final ByteBuffer printingTypes;
+    private final IntBuffer publisherIndexes;
+    private final LongBuffer printDates;
+
+    private final Publisher[] publishers;
+
+    private ColumnarBookStore(Collection<Book> books, PublisherRegistry publisherRegistry) {
+        bookCount = books.size();
+
+        int totalPrintings = 0;
+        long totalStringBytes = 0;
+        for (Book book : books) {
+            totalPrintings = checkedSize(Math.addExact((long) totalPrintings, book.getPrintingsView().size()));
+            totalStringBytes += utf8(book.getIsbn()).length + utf8(book.getTitle()).length;
+        }
+        if (totalStringBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Books' ISBNs and titles are too large for one store!");
+        }
+        printingCount = totalPrintings;
+
+        strings = ByteBuffer.allocateDirect((int) totalStringBytes);
+        isbnOffsets = allocateInts(bookCount + 1);
+        titleOffsets = allocateInts(bookCount + 1);
+        starRatingCounts = allocateLongs(checkedSize(Math.multiplyExact((long) bookCount, STAR_RATINGS)));
+        starRatingTotals = allocateLongs(bookCount);
+        starRatingCountTotals = allocateLongs(bookCount);
+        printingStarts = allocateInts(bookCount + 1);
+        latestPaperbacks = allocateInts(bookCount);
+        printingTypes = ByteBuffer.allocateDirect(printingCount);
+        publisherIndexes = allocateInts(printingCount);
+        printDates = allocateLongs(printingCount);
+
+        List<Publisher> publisherList = new ArrayList<>();
+        Map<Publisher, Integer> publisherIndexByPublisher = new HashMap<>();
+        int bookIndex = 0;
+        int printingIndex = 0;
+        for (Book book : books) {
+            isbnOffsets.put(bookIndex, strings.position());
+            strings.put(utf8(book.getIsbn()));
+            titleOffsets.put(bookIndex, strings.position());
+            strings.put(utf8(book.getTitle()));
+
+            // One snapshot, so a rating added concurrently can't split the histogram from its totals
+            RatingDistribution distribution = book.getRatingDistribution();
+            for (int stars = Book.MIN_STAR_RATING; stars <= Book.MAX_STAR_RATING; stars++) {
+                starRatingCounts.put(bookIndex * STAR_RATINGS + stars - Book.MIN_STAR_RATING,
+                    distribution.getCount(stars));
+            }
+            starRatingTotals.put(bookIndex, distribution.getTotal());
+            starRatingCountTotals.put(bookIndex, distribution.getCount());
+
+            printingStarts.put(bookIndex, printingIndex);
+            int latestPaperback = NO_PRINTING;
+            for (Printing printing : book.getPrintingsView()) {
+                printingTypes.put(printingIndex, printing.getPrintingType() == null
+                    ? NO_PRINTING_TYPE : (byte) printing.getPrintingType().ordinal());
+                publisherIndexes.put(printingIndex, printing.getPublisher()
+                    .map(publisher -> publisherIndexByPublisher.computeIfAbsent(publisher, unused -> {
+                        publisherList.add(publisherRegistry.intern(publisher));
+                        return publisherList.size() - 1;
+                    }))
+                    .orElse(NO_PUBLISHER));
+                printDates.put(printingIndex, printing.getPrintDateMillis());
+
+                if (printing.getPrintingType() == PrintingType.PAPERBACK
+                    && (latestPaperback == NO_PRINTING
+                        || printDates.get(latestPaperback) < printing.getPrintDateMillis())) {
+                    latestPaperback = printingIndex;
+                }
+                printingIndex++;
+            }
+            latestPaperbacks.put(bookIndex, latestPaperback);
+            bookIndex++;
+        }
+        isbnOffsets.put(bookCount, strings.position());
+        titleOffsets.put(bookCount, strings.position());
+        printingStarts.put(bookCount, printingIndex);
+        publishers = publisherList.toArray(new Publisher[0]);
+    }
+
+    /**
+     * Copies the books into a new store. The Books themselves can be
+     * discarded afterwards.
+     * @param books The books to store, in the order their indexes should follow.
+     * @return A store holding the books.
+     */
+    public static ColumnarBookStore of(Collection<Book> books) {
+        return of(books, new PublisherRegistry());
+    }
+
+    /**
+     * Copies the books into a new store, interning their publishers through
+     * an existing registry, so publishers are shared with other stores and
+     * catalogs built the same way.
+     * @param books The books to store, in the order their indexes should follow.
+     * @param publisherRegistry The registry to intern publishers through.
+     * @return A store holding the books.
+     */
+    public static ColumnarBookStore of(Collection<Book> books, PublisherRegistry publisherRegistry) {
+        if (books == null) {
+            throw new IllegalArgumentException("Books must not be null!");
+        }
+        if (publisherRegistry == null) {
+            throw new IllegalArgumentException("Publisher registry must not be null!");
+        }
+        return new ColumnarBookStore(books, publisherRegistry);
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public int getPrintingCount() {
+        return printingCount;
+    }
+
+    /**
+     * Creates a view positioned on the first book. Move it with BookView.moveTo.
+     * @return A new, reusable view into this store.
+     */
+    public BookView newBookView() {
+        return new BookView(this);
+    }
+
+    /**
+     * Finds the highest rated of these books, as Author.getBestRatedBook does:
+     * unrated books are skipped, and the first of equally rated books wins.
+     * @param bookIndexes The indexes of the books to choose between.
+     * @return The index of the highest rated book, if any book was rated.
+     */
+    public OptionalInt findBestRatedBook(int... bookIndexes) {
+        int highestRatedBook = NO_BOOK;
+        double highestRating = -1.0;
+        for (int bookIndex : bookIndexes) {
+            long count = starRatingCountTotals.get(checkBookIndex(bookIndex));
+            if (count > 0) {
+                double rating = (double) starRatingTotals.get(bookIndex) / count;
+                if (rating > highestRating) {
+                    highestRating = rating;
+                    highestRatedBook = bookIndex;
+                }
+            }
+        }
+        return highestRatedBook == NO_BOOK ? OptionalInt.empty() : OptionalInt.of(highestRatedBook);
+    }
+
+    /**
+     * Rebuilds an on-heap Book from the store, for callers that need a real one.
+     * Its ratings are restored as per-star counts, so this costs the same
+     * however many ratings the book has.
+     * @param bookIndex The index of the book.
+     * @return A new Book equivalent to the stored one.
+     */
+    public Book toBook(int bookIndex) {
+        checkBookIndex(bookIndex);
+        List<Printing> printings = new ArrayList<>();
+        for (int i = firstPrinting(bookIndex); i < printingEnd(bookIndex); i++) {
+            printings.add(new Printing(printingType(i), publisher(i), new Date(printDates.get(i))));
+        }
+        long[] countsByStarRating = new long[Book.MAX_STAR_RATING + 1];
+        for (int stars = Book.MIN_STAR_RATING; stars <= Book.MAX_STAR_RATING; stars++) {
+            countsByStarRating[stars] = starRatingCount(bookIndex, stars);
+        }
+        return Book.fromStarRatingCounts(isbn(bookIndex), title(bookIndex), printings, countsByStarRating);
+    }
+
+    int checkBookIndex(int bookIndex) {
+        if (bookIndex < 0 || bookIndex >= bookCount) {
+            throw new IndexOutOfBoundsException("No book at index " + bookIndex);
+        }
+        return bookIndex;
+    }
+
+    String isbn(int bookIndex) {
+        return string(isbnOffsets.get(bookIndex), titleOffsets.get(bookIndex));
+    }
+
+    String title(int bookIndex) {
+        return string(titleOffsets.get(bookIndex), isbnOffsets.get(bookIndex + 1));
+    }
+
+    long starRatingCount(int bookIndex) {
+        return starRatingCountTotals.get(bookIndex);
+    }
+
+    long starRatingCount(int bookIndex, int stars) {
+        return starRatingCounts.get(bookIndex * STAR_RATINGS + stars - Book.MIN_STAR_RATING);
+    }
+
+    long starRatingTotal(int bookIndex) {
+        return starRatingTotals.get(bookIndex);
+    }
+
+    int firstPrinting(int bookIndex) {
+        return printingStarts.get(bookIndex);
+    }
+
+    int printingEnd(int bookIndex) {
+        return printingStarts.get(bookIndex + 1);
+    }
+
+    int latestPaperback(int bookIndex) {
+        return latestPaperbacks.get(bookIndex);
+    }
+
+    PrintingType printingType(int printingIndex) {
+        byte ordinal = printingTypes.get(printingIndex);
+        return ordinal == NO_PRINTING_TYPE ? null : PRINTING_TYPES[ordinal];
+    }
+
+    Publisher publisher(int printingIndex) {
+        int publisherIndex = publisherIndexes.get(printingIndex);
+        return publisherIndex == NO_PUBLISHER ? null : publishers[publisherIndex];
+    }
+
+    long printDate(int printingIndex) {
+        return printDates.get(printingIndex);
+    }
+
+    private String string(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = strings.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static IntBuffer allocateInts(int count) {
+        return ByteBuffer.allocateDirect(checkedSize(Math.multiplyExact((long) count, Integer.BYTES)))
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static LongBuffer allocateLongs(int count) {
+        return ByteBuffer.allocateDirect(checkedSize(Math.multiplyExact((long) count, Long.BYTES)))
+            .order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    /**
+     * Narrows a column size to an int, since a buffer can't hold more than
+     * Integer.MAX_VALUE bytes or elements.
+     * @param size The size, computed in long arithmetic.
+     * @return The size as an int.
+     */
+    static int checkedSize(long size) {
+        try {
+            return Math.toIntExact(size);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Books are too large for one store!", e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.dao.AuthorDao;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.PublisherRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An AuthorDao that serves lookups straight from a memory-mapped
+ * AuthorSnapshot file. Opening a snapshot only reads its header and
+ * publisher table; authors are read from the mapping when they're looked up,
+ * so startup time doesn't depend on catalog size, and processes on the same
+ * host share the file's pages through the OS page cache. Publishers are
+ * interned through a PublisherRegistry, which can be shared between DAOs.
+ *
+ * Each lookup builds a fresh Author for the found author. Its pseudonyms are
+ * only read from the mapping when first accessed, and each pseudonym is read
+ * once per lookup, so Authors reached through each other are the same objects.
+ */
+public class MappedAuthorDao extends AuthorDao {
+    private static final PrintingType[] PRINTING_TYPES = PrintingType.values();
+
+    private final MappedByteBuffer snapshot;
+    private final int slotCount;
+    private final int authorTableOffset;
+    private final int hashTableOffset;
+    private final Publisher[] publishers;
+
+    private MappedAuthorDao(MappedByteBuffer snapshot, PublisherRegistry publisherRegistry) {
+        super(Collections.emptyMap());
+        this.snapshot = snapshot;
+
+        if (snapshot.getInt(0) != AuthorSnapshot.MAGIC) {
+            throw new IllegalArgumentException("File is not an author snapshot!");
+        }
+        if (snapshot.getInt(4) != AuthorSnapshot.VERSION) {
+            throw new IllegalArgumentException("Unsupported author snapshot version " + snapshot.getInt(4));
+        }
+        this.slotCount = snapshot.getInt(12);
+        this.authorTableOffset = snapshot.getInt(20);
+        this.hashTableOffset = snapshot.getInt(24);
+
+        ByteBuffer cursor = cursor(snapshot.getInt(16));
+        publishers = new Publisher[cursor.getInt()];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = publisherRegistry.intern(
+                new Publisher(readString(cursor), readString(cursor), readString(cursor)));
+        }
+    }
+
+    /**
+     * Maps a snapshot written by AuthorSnapshot.write. The file stays mapped
+     * until this DAO is garbage collected.
+     * @param file The snapshot file.
+     * @return An AuthorDao serving the snapshot's authors.
+     * @throws IOException if the file can't be opened or mapped.
+     */
+    public static MappedAuthorDao open(Path file) throws IOException {
+        return open(file, new PublisherRegistry());
+    }
+
+    /**
+     * Maps a snapshot written by AuthorSnapshot.write, interning its
+     * publishers through an existing registry, so they're shared with other
+     * snapshots and catalogs loaded the same way.
+     * @param file The snapshot file.
+     * @param publisherRegistry The registry to intern publishers through.
+     * @return An AuthorDao serving the snapshot's authors.
+     * @throws IOException if the file can't be opened or mapped.
+     */
+    public static MappedAuthorDao open(Path file, PublisherRegistry publisherRegistry) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File must not be null!");
+        }
+        if (publisherRegistry == null) {
+            throw new IllegalArgumentException("Publisher registry must not be null!");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedAuthorDao(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+                publisherRegistry);
+        }
+    }
+
+    @Override
+    public Optional<Author> findAuthorByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+
+        int hash = name.hashCode();
+        for (int slot = AuthorSnapshot.firstSlot(hash, slotCount); ; slot = (slot + 1) & (slotCount - 1)) {
+            int slotOffset = hashTableOffset + slot * AuthorSnapshot.SLOT_BYTES;
+            int authorNumber = snapshot.getInt(slotOffset + 8);
+            if (authorNumber == AuthorSnapshot.EMPTY_SLOT) {
+                return Optional.empty();
+            }
+            if (snapshot.getInt(slotOffset) == hash &&
+                name.equals(readString(cursor(snapshot.getInt(slotOffset + 4))))) {
+                return Optional.of(readAuthor(authorNumber, new HashMap<>()));
+            }
+        }
+    }
+
+    @Override
+    public Collection<String> getAuthorNames() {
+        List<String> names = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            int slotOffset = hashTableOffset + slot * AuthorSnapshot.SLOT_BYTES;
+            if (snapshot.getInt(slotOffset + 8) != AuthorSnapshot.EMPTY_SLOT) {
+                names.add(readString(cursor(snapshot.getInt(slotOffset + 4))));
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Reads every author in the snapshot onto the heap, for building indexes.
+     */
+    @Override
+    protected Map<String, Author> getAuthorByName() {
+        Map<Integer, Author> authorByNumber = new HashMap<>();
+        Map<String, Author> authorByName = new HashMap<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            int slotOffset = hashTableOffset + slot * AuthorSnapshot.SLOT_BYTES;
+            int authorNumber = snapshot.getInt(slotOffset + 8);
+            if (authorNumber != AuthorSnapshot.EMPTY_SLOT) {
+                authorByName.put(readString(cursor(snapshot.getInt(slotOffset + 4))),
+                    readAuthor(authorNumber, authorByNumber));
+            }
+        }
+        return authorByName;
+    }
+
+    private Author readAuthor(int authorNumber, Map<Integer, Author> authorByNumber) {
+        Author existing = authorByNumber.get(authorNumber);
+        if (existing != null) {
+            return existing;
+        }
+
+        ByteBuffer cursor = cursor(snapshot.getInt(authorTableOffset + authorNumber * Integer.BYTES));
+        String name = readString(cursor);
+        String id = readString(cursor);
+        int[] pseudonymNumbers = new int[cursor.getInt()];
+        for (int i = 0; i < pseudonymNumbers.length; i++) {
+            pseudonymNumbers[i] = cursor.getInt();
+        }
+        int bookCount = cursor.getInt();
+        List<Book> books = new ArrayList<>(bookCount);
+        for (int i = 0; i < bookCount; i++) {
+            books.add(readBook(cursor));
+        }
+
+        Author author = new Author(name, id, new PseudonymList(pseudonymNumbers, authorByNumber), books);
+        authorByNumber.put(authorNumber, author);
+        return author;
+    }
+
+    private Book readBook(ByteBuffer cursor) {
+        String isbn = readString(cursor);
+        String title = readString(cursor);
+        long[] countsByStarRating = new long[Book.MAX_STAR_RATING + 1];
+        for (int stars = Book.MIN_STAR_RATING; stars <= Book.MAX_STAR_RATING; stars++) {
+            countsByStarRating[stars] = cursor.getLong();
+        }
+        int printingCount = cursor.getInt();
+        List<Printing> printings = new ArrayList<>(printingCount);
+        for (int i = 0; i < printingCount; i++) {
+            byte printingType = cursor.get();
+            int publisherNumber = cursor.getInt();
+            long printDate = cursor.getLong();
+            printings.add(new Printing(printingType == AuthorSnapshot.NONE ? null : PRINTING_TYPES[printingType],
+                publisherNumber == AuthorSnapshot.NONE ? null : publishers[publisherNumber],
+                new Date(printDate)));
+        }
+        return Book.fromStarRatingCounts(isbn, title, printings, countsByStarRating);
+    }
+
+    private ByteBuffer cursor(int offset) {
+        ByteBuffer cursor = snapshot.duplicate();
+        cursor.position(offset);
+        return cursor;
+    }
+
+    private static String readString(ByteBuffer cursor) {
+        int length = cursor.getInt();
+        if (length == AuthorSnapshot.NONE) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        cursor.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An author's pseudonyms, read from the mapping the first time each one is
+     * accessed. Pseudonyms already read in the same lookup are reused, which
+     * also ends cycles of authors naming each other.
+     */
+    private class PseudonymList extends AbstractList<Author> {
+        private final int[] pseudonymNumbers;
+        private final Map<Integer, Author> authorByNumber;
+
+        PseudonymList(int[] pseudonymNumbers, Map<Integer, Author> authorByNumber) {
+            this.pseudonymNumbers = pseudonymNumbers;
+            this.authorByNumber = authorByNumber;
+        }
+
+        @Override
+        public Author get(int index) {
+            // Pseudonyms of one lookup share this map, and may be read from any thread the Authors reach
+            synchronized (authorByNumber) {
+                return readAuthor(pseudonymNumbers[index], authorByNumber);
+            }
+        }
+
+        @Override
+        public int size() {
+            return pseudonymNumbers.length;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * A movable window onto one printing in a ColumnarBookStore, with the same
+ * read accessors as Printing.
+ */
+public final class PrintingView {
+    private final ColumnarBookStore store;
+    private int printingIndex;
+
+    PrintingView(ColumnarBookStore store) {
+        this.store = store;
+    }
+
+    PrintingView moveTo(int printingIndex) {
+        this.printingIndex = printingIndex;
+        return this;
+    }
+
+    public int getIndex() {
+        return printingIndex;
+    }
+
+    public PrintingType getPrintingType() {
+        return store.printingType(printingIndex);
+    }
+
+    public Optional<Publisher> getPublisher() {
+        return Optional.ofNullable(store.publisher(printingIndex));
+    }
+
+    public long getPrintDateMillis() {
+        return store.printDate(printingIndex);
+    }
+
+    public Instant getPrintInstant() {
+        return Instant.ofEpochMilli(store.printDate(printingIndex));
+    }
+}
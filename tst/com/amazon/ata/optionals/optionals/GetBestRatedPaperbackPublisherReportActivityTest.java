@@ -0,0 +1,119 @@
+package com.amazon.ata.optionals.optionals;
+
+import com.amazon.ata.optionals.optionals.dao.AuthorDao;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class GetBestRatedPaperbackPublisherReportActivityTest {
+
+    @Test
+    public void handleRequest_manyAuthors_countsAuthorsPerPublisher() {
+        // GIVEN
+        Publisher popular = new Publisher("popular", "name", "contact");
+        Publisher niche = new Publisher("niche", "name", "contact");
+        Map<String, Author> authorByName = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Publisher publisher = i % 4 == 0 ? niche : popular;
+            Printing printing = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+            Book book = new Book("isbn" + i, "title", ImmutableList.of(printing), ImmutableList.of(3));
+            authorByName.put("author" + i,
+                new Author("author" + i, "id" + i, ImmutableList.of(), ImmutableList.of(book)));
+        }
+        authorByName.put("unrated", new Author("unrated", "id", ImmutableList.of(), ImmutableList.of()));
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        GetBestRatedPaperbackPublisherReportActivity activity =
+            new GetBestRatedPaperbackPublisherReportActivity(new AuthorDao(authorByName), forkJoinPool);
+
+        // WHEN
+        BestRatedPaperbackPublisherReport report;
+        try {
+            report = activity.handleRequest();
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        // THEN
+        assertEquals(101, report.getAuthorCount());
+        assertEquals(Long.valueOf(75), report.getAuthorCountByPublisher().get(popular));
+        assertEquals(Long.valueOf(25), report.getAuthorCountByPublisher().get(niche));
+        assertEquals(ImmutableList.of(popular, niche), report.getTopPublishers(2));
+        assertEquals(niche, report.getPublisher("author0").get());
+        assertFalse(report.getPublisher("unrated").isPresent());
+    }
+
+    @Test
+    public void handleRequest_eachName_looksUpAuthorOnce() {
+        // GIVEN
+        Publisher publisher = new Publisher("publisher", "name", "contact");
+        Map<String, Author> authorByName = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            Printing printing = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+            Book book = new Book("isbn" + i, "title", ImmutableList.of(printing), ImmutableList.of(3));
+            authorByName.put("author" + i,
+                new Author("author" + i, "id" + i, ImmutableList.of(), ImmutableList.of(book)));
+        }
+        AtomicInteger lookups = new AtomicInteger();
+        AuthorDao authorDao = new AuthorDao(authorByName) {
+            @Override
+            public Optional<Author> findAuthorByName(String name) {
+                lookups.incrementAndGet();
+                return super.findAuthorByName(name);
+            }
+        };
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        GetBestRatedPaperbackPublisherReportActivity activity =
+            new GetBestRatedPaperbackPublisherReportActivity(authorDao, forkJoinPool);
+
+        // WHEN
+        BestRatedPaperbackPublisherReport report;
+        try {
+            report = activity.handleRequest();
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        // THEN
+        assertEquals(Long.valueOf(10), report.getAuthorCountByPublisher().get(publisher));
+        assertEquals(10, lookups.get());
+    }
+
+    @Test
+    public void handleRequest_authorWithPseudonyms_countsAuthorOnce() {
+        // GIVEN
+        Publisher publisher = new Publisher("publisher", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+        Book book = new Book("isbn", "title", ImmutableList.of(printing), ImmutableList.of(4));
+        Author author = new Author("author", "id", ImmutableList.of(), ImmutableList.of(book));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("author", author);
+        authorByName.put("penName", author);
+        authorByName.put("otherPenName", author);
+        GetBestRatedPaperbackPublisherReportActivity activity =
+            new GetBestRatedPaperbackPublisherReportActivity(new AuthorDao(authorByName));
+
+        // WHEN
+        BestRatedPaperbackPublisherReport report = activity.handleRequest();
+
+        // THEN
+        assertEquals(1, report.getAuthorCount());
+        assertEquals(Long.valueOf(1), report.getAuthorCountByPublisher().get(publisher));
+        assertEquals(publisher, report.getPublisher("penName").get());
+        assertEquals(3, report.getPublisherByAuthorName().size());
+    }
+}
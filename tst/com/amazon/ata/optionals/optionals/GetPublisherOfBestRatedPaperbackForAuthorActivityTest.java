@@ -0,0 +1,248 @@
+package com.amazon.ata.optionals.optionals;
+
+import com.amazon.ata.optionals.optionals.dao.AuthorDao;
+import com.amazon.ata.optionals.optionals.metrics.ActivityMetrics;
+import com.amazon.ata.optionals.optionals.metrics.ActivityStep;
+import com.amazon.ata.optionals.optionals.metrics.EmptyResultReason;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.BookPage;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.WilsonLowerBoundRatingStrategy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GetPublisherOfBestRatedPaperbackForAuthorActivityTest {
+
+    private Publisher testPublisher;
+    private AuthorDao testAuthorDao;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("id", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, testPublisher, new Date());
+        Book book = new Book("isbn", "title", ImmutableList.of(printing), ImmutableList.of(5));
+        Author author = new Author("name", "id", ImmutableList.of(), ImmutableList.of(book));
+        testAuthorDao = new AuthorDao(ImmutableMap.of("name", author, "pseudonym", author));
+    }
+
+    @Test
+    public void handleRequests_duplicateAndUnknownNames_returnsOneResultPerDistinctName() {
+        // GIVEN
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(testAuthorDao);
+
+        // WHEN
+        Map<String, Optional<Publisher>> result =
+            activity.handleRequests(ImmutableList.of("name", "unknown", "pseudonym", "name"));
+
+        // THEN
+        assertEquals(ImmutableMap.of(
+            "name", Optional.of(testPublisher),
+            "unknown", Optional.empty(),
+            "pseudonym", Optional.of(testPublisher)), result);
+    }
+
+    @Test
+    public void handleRequests_nullName_throwsIllegalArgumentException() {
+        // GIVEN
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(testAuthorDao);
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class,
+            () -> activity.handleRequests(Arrays.asList("name", null)));
+    }
+
+    @Test
+    public void handleRequestAsync_knownAuthor_completesWithPublisher() throws Exception {
+        // GIVEN
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(testAuthorDao);
+
+        // WHEN
+        Optional<Publisher> publisher = activity.handleRequestAsync("pseudonym").get(5, TimeUnit.SECONDS);
+
+        // THEN
+        assertEquals(testPublisher, publisher.get());
+    }
+
+    @Test
+    public void handleRequestsAsync_slowName_timesOutAndInterruptsWithoutDelayingOthers() throws Exception {
+        // GIVEN
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AuthorDao slowDao = new AuthorDao(ImmutableMap.of()) {
+            @Override
+            public Optional<Author> findAuthorByName(String name) {
+                if (!"slow".equals(name)) {
+                    return testAuthorDao.findAuthorByName(name);
+                }
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return Optional.empty();
+            }
+        };
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(slowDao);
+
+        // WHEN
+        Map<String, CompletableFuture<Optional<Publisher>>> results =
+            activity.handleRequestsAsync(Arrays.asList("slow", "name"), Duration.ofMillis(100));
+
+        // THEN
+        assertEquals(testPublisher, results.get("name").get(5, TimeUnit.SECONDS).get());
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> results.get("slow").get(5, TimeUnit.SECONDS));
+        assertTrue(thrown.getCause() instanceof TimeoutException);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void handleRequestAsync_nullAuthorName_throwsIllegalArgumentException() {
+        // GIVEN
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(testAuthorDao);
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> activity.handleRequestAsync(null));
+    }
+
+    @Test
+    public void handleRequest_metricsEnabled_countsEmptyResultsByReason() {
+        // GIVEN
+        Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+        Book hardcoverOnly = new Book("hardcover", "title",
+            ImmutableList.of(new Printing(PrintingType.HARDCOVER, testPublisher, new Date())), ImmutableList.of(5));
+        Book selfPublished = new Book("self", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, null, new Date())), ImmutableList.of(5));
+        AuthorDao authorDao = new AuthorDao(ImmutableMap.of(
+            "noBooks", new Author("noBooks", "1", ImmutableList.of(), ImmutableList.of()),
+            "noRatings", new Author("noRatings", "2", ImmutableList.of(), ImmutableList.of(unrated)),
+            "noPaperback", new Author("noPaperback", "3", ImmutableList.of(), ImmutableList.of(hardcoverOnly)),
+            "noPublisher", new Author("noPublisher", "4", ImmutableList.of(), ImmutableList.of(selfPublished)),
+            "name", testAuthorDao.findAuthorByName("name").get()));
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(authorDao, ActivityMetrics.enabled());
+
+        // WHEN
+        for (String name : Arrays.asList("missing", "noBooks", "noRatings", "noPaperback", "noPublisher", "name")) {
+            activity.handleRequest(name);
+        }
+
+        // THEN
+        ActivityMetrics.Snapshot snapshot = activity.getMetrics().snapshot();
+        assertEquals(6, snapshot.getRequestCount());
+        assertEquals(5, snapshot.getEmptyResultCount());
+        for (EmptyResultReason reason : Arrays.asList(EmptyResultReason.NO_AUTHOR, EmptyResultReason.NO_BOOKS,
+            EmptyResultReason.NO_RATINGS, EmptyResultReason.NO_PAPERBACK, EmptyResultReason.NO_PUBLISHER)) {
+            assertEquals(1, snapshot.getEmptyResultCount(reason));
+        }
+        assertEquals(6, snapshot.getLatency(ActivityStep.REQUEST).getCount());
+        assertEquals(6, snapshot.getLatency(ActivityStep.DAO_LOOKUP).getCount());
+        assertEquals(5, snapshot.getLatency(ActivityStep.RATING).getCount());
+        assertEquals(3, snapshot.getLatency(ActivityStep.PAPERBACK_SELECTION).getCount());
+    }
+
+    @Test
+    public void handleRequest_metricsEnabledLazyAuthorWithoutBooks_fetchesOnePage() {
+        // GIVEN
+        AtomicInteger fetchCount = new AtomicInteger();
+        Author lazyAuthor = new Author("lazy", "id", ImmutableList.of(), cursor -> {
+            fetchCount.incrementAndGet();
+            return new BookPage(ImmutableList.of(), null);
+        });
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(
+                new AuthorDao(ImmutableMap.of("lazy", lazyAuthor)), ActivityMetrics.enabled());
+
+        // WHEN
+        Optional<Publisher> publisher = activity.handleRequest("lazy");
+
+        // THEN
+        assertFalse(publisher.isPresent());
+        assertEquals(1, activity.getMetrics().snapshot().getEmptyResultCount(EmptyResultReason.NO_BOOKS));
+        assertEquals(1, fetchCount.get());
+    }
+
+    @Test
+    public void handleRequests_metricsEnabled_countsEachDistinctNameByReason() {
+        // GIVEN
+        Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+        AuthorDao authorDao = new AuthorDao(ImmutableMap.of(
+            "noBooks", new Author("noBooks", "1", ImmutableList.of(), ImmutableList.of()),
+            "noRatings", new Author("noRatings", "2", ImmutableList.of(), ImmutableList.of(unrated)),
+            "name", testAuthorDao.findAuthorByName("name").get(),
+            "pseudonym", testAuthorDao.findAuthorByName("name").get()));
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(authorDao, ActivityMetrics.enabled());
+
+        // WHEN
+        activity.handleRequests(Arrays.asList("missing", "noBooks", "noRatings", "name", "pseudonym", "name"));
+
+        // THEN
+        ActivityMetrics.Snapshot snapshot = activity.getMetrics().snapshot();
+        assertEquals(5, snapshot.getRequestCount());
+        assertEquals(3, snapshot.getEmptyResultCount());
+        for (EmptyResultReason reason : Arrays.asList(EmptyResultReason.NO_AUTHOR, EmptyResultReason.NO_BOOKS,
+            EmptyResultReason.NO_RATINGS)) {
+            assertEquals(1, snapshot.getEmptyResultCount(reason));
+        }
+    }
+
+    @Test
+    public void handleRequest_metricsDisabled_recordsNothing() {
+        // GIVEN
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(testAuthorDao);
+
+        // WHEN
+        Optional<Publisher> publisher = activity.handleRequest("name");
+
+        // THEN
+        assertEquals(testPublisher, publisher.get());
+        assertEquals(0, activity.getMetrics().snapshot().getRequestCount());
+    }
+
+    @Test
+    public void handleRequest_ratingStrategy_usesStrategyToPickBook() {
+        // GIVEN
+        Publisher otherPublisher = new Publisher("other", "other", "contact");
+        Book onePerfect = new Book("one", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, testPublisher, new Date())), ImmutableList.of(5));
+        Book manyGood = new Book("many", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, otherPublisher, new Date())), ImmutableList.of());
+        manyGood.addRatings(new long[] {0, 0, 0, 0, 10, 30});
+        Author author = new Author("name", "id", ImmutableList.of(), ImmutableList.of(onePerfect, manyGood));
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(new AuthorDao(ImmutableMap.of("name", author)));
+
+        // WHEN + THEN
+        assertEquals(testPublisher, activity.handleRequest("name").get());
+        assertEquals(otherPublisher, activity.handleRequest("name", new WilsonLowerBoundRatingStrategy()).get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuthorCatalogLoaderTest {
+    private static final String CATALOG =
+        "{\"name\": \"author\", \"id\": \"id1\", \"pseudonyms\": [\"penName\"], \"books\": ["
+            + "{\"isbn\": \"isbn1\", \"title\": \"title1\", \"starRatings\": [4, 5], \"printings\": ["
+            + "{\"printingType\": \"PAPERBACK\", \"printDate\": 1000, "
+            + "\"publisher\": {\"id\": \"pub\", \"name\": \"name\", \"contact\": \"contact\"}}]}]}\n"
+            + "{\"name\": \"penName\", \"id\": \"id2\", \"pseudonyms\": [], \"books\": ["
+            + "{\"isbn\": \"isbn2\", \"title\": \"title2\", \"starRatings\": [3], \"printings\": ["
+            + "{\"printingType\": \"PAPERBACK\", \"printDate\": 2000, "
+            + "\"publisher\": {\"id\": \"pub\", \"name\": \"name\", \"contact\": \"contact\"}}, "
+            + "{\"printingType\": \"EBOOK\", \"printDate\": 3000, \"publisher\": null}]}]}\n";
+
+    @Test
+    public void load_validCatalog_buildsAuthorsAndLinksPseudonyms() throws IOException {
+        // WHEN
+        AuthorCatalogLoader.LoadResult result = new AuthorCatalogLoader().load(new StringReader(CATALOG));
+
+        // THEN
+        Author author = result.getAuthorByName().get("author");
+        Author penName = result.getAuthorByName().get("penName");
+        assertEquals(2, result.getAuthorByName().size());
+        assertEquals(2, result.getBookCount());
+        assertEquals(3, result.getPrintingCount());
+        assertSame(penName, author.getPseudonyms().get(0));
+        assertEquals(4.5, author.getBestRatedBook().flatMap(Book::getWeightedRating).get());
+    }
+
+    @Test
+    public void load_samePublisherIdOnTwoPrintings_sharesOnePublisher() throws IOException {
+        // WHEN
+        AuthorCatalogLoader.LoadResult result = new AuthorCatalogLoader().load(new StringReader(CATALOG));
+
+        // THEN
+        Publisher first = result.getAuthorByName().get("author").getBestRatedBook().get()
+            .getPaperback().get().getPublisher().get();
+        Publisher second = result.getAuthorByName().get("penName").getBestRatedBook().get()
+            .getPaperback().get().getPublisher().get();
+        assertSame(first, second);
+        assertEquals(1, result.getPublisherCount());
+    }
+
+    @Test
+    public void load_unknownPseudonym_throwsIllegalArgumentException() {
+        // GIVEN
+        String catalog = "{\"name\": \"author\", \"pseudonyms\": [\"missing\"], \"books\": []}\n";
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> new AuthorCatalogLoader().load(new StringReader(catalog)));
+    }
+
+    @Test
+    public void load_cyclicPseudonyms_linksBothWaysWithUnmodifiableLists() throws IOException {
+        // GIVEN
+        String catalog = "{\"name\": \"author\", \"pseudonyms\": [\"penName\"], \"books\": []}\n"
+            + "{\"name\": \"penName\", \"pseudonyms\": [\"author\"], \"books\": []}\n";
+
+        // WHEN
+        AuthorCatalogLoader.LoadResult result = new AuthorCatalogLoader().load(new StringReader(catalog));
+
+        // THEN
+        Author author = result.getAuthorByName().get("author");
+        Author penName = result.getAuthorByName().get("penName");
+        assertSame(penName, author.getPseudonyms().get(0));
+        assertSame(author, penName.getPseudonyms().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> author.getPseudonyms().add(penName));
+    }
+}
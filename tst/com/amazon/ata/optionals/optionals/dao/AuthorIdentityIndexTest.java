@@ -0,0 +1,73 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class AuthorIdentityIndexTest {
+
+    private Publisher testPublisher;
+    private Book lowRatedBook;
+    private Book highRatedBook;
+    private Author author;
+    private Author penName;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("id", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, testPublisher, new Date());
+        lowRatedBook = new Book("isbn1", "title1", ImmutableList.of(), ImmutableList.of(2));
+        highRatedBook = new Book("isbn2", "title2", ImmutableList.of(printing), ImmutableList.of(5));
+
+        // Pseudonym lists point at each other, forming a cycle
+        List<Author> authorPseudonyms = new ArrayList<>();
+        List<Author> penNamePseudonyms = new ArrayList<>();
+        author = new Author("author", "id1", authorPseudonyms, ImmutableList.of(lowRatedBook));
+        penName = new Author("penName", "id2", penNamePseudonyms, ImmutableList.of(highRatedBook));
+        authorPseudonyms.add(penName);
+        penNamePseudonyms.add(author);
+    }
+
+    @Test
+    public void findBestRatedBook_bestBookUnderPseudonym_returnsPseudonymBook() {
+        // GIVEN
+        AuthorIdentityIndex index = new AuthorIdentityIndex(ImmutableMap.of("author", author));
+
+        // WHEN + THEN
+        assertEquals(highRatedBook, index.findBestRatedBook("author").get());
+        assertEquals(testPublisher, index.findPublisherOfBestRatedPaperback("author").get());
+    }
+
+    @Test
+    public void findIdentity_pseudonymOnlyReachableThroughAuthor_resolvesByName() {
+        // GIVEN
+        AuthorIdentityIndex index = new AuthorIdentityIndex(ImmutableMap.of("author", author));
+
+        // WHEN + THEN
+        assertEquals(2, index.findIdentity("penName").get().size());
+    }
+
+    @Test
+    public void findIdentity_unknownName_returnsEmptyOptional() {
+        // GIVEN
+        AuthorIdentityIndex index = new AuthorIdentityIndex(ImmutableMap.of("author", author));
+
+        // WHEN + THEN
+        assertFalse(index.findIdentity("unknown").isPresent());
+        assertFalse(index.findBestRatedBook("unknown").isPresent());
+    }
+}
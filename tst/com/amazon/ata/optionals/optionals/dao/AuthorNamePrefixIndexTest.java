@@ -0,0 +1,124 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthorNamePrefixIndexTest {
+
+    private Map<String, Author> authorByName;
+    private Book marthaBook;
+
+    private static Author author(String name, Book... books) {
+        return new Author(name, name + "-id", ImmutableList.of(), ImmutableList.copyOf(books));
+    }
+
+    private static Book book(int... ratings) {
+        List<Integer> starRatings = new ArrayList<>();
+        for (int rating : ratings) {
+            starRatings.add(rating);
+        }
+        return new Book("isbn-" + starRatings, "title", ImmutableList.of(), starRatings);
+    }
+
+    @BeforeEach
+    public void setup() {
+        marthaBook = book(3);
+        Author mary = author("Mary Shelley", book(5));
+        authorByName = new HashMap<>();
+        authorByName.put("Mary Shelley", mary);
+        authorByName.put("mary westmacott", author("mary westmacott", book(4)));
+        authorByName.put("Martha Wells", author("Martha Wells", marthaBook));
+        authorByName.put("Mark Twain", author("Mark Twain"));
+        authorByName.put("Margaret Atwood", author("Margaret Atwood", book(4)));
+        authorByName.put("Ursula Le Guin", author("Ursula Le Guin", book(5)));
+    }
+
+    @Test
+    public void findTopMatches_caseInsensitivePrefix_ranksByBestBookRating() {
+        // GIVEN
+        AuthorNamePrefixIndex index = new AuthorDao(authorByName).buildAuthorNamePrefixIndex();
+
+        // WHEN + THEN
+        assertEquals(ImmutableList.of("Mary Shelley", "Margaret Atwood", "mary westmacott"),
+            index.findTopMatches("MAR", 3));
+        assertEquals(ImmutableList.of("Mary Shelley", "mary westmacott"), index.findTopMatches("mary", 10));
+        assertEquals(ImmutableList.of("Martha Wells"), index.findTopMatches("mart", 10));
+        assertTrue(index.findTopMatches("zed", 10).isEmpty());
+        assertEquals(6, index.findTopMatches("", 10).size());
+    }
+
+    @Test
+    public void findTopMatches_unratedAuthor_rankedLast() {
+        // GIVEN
+        AuthorNamePrefixIndex index = new AuthorNamePrefixIndex(authorByName);
+
+        // WHEN + THEN
+        assertEquals(ImmutableList.of("Mary Shelley", "Margaret Atwood", "mary westmacott", "Martha Wells",
+            "Mark Twain"), index.findTopMatches("mar", 10));
+    }
+
+    @Test
+    public void refreshRatings_newRatings_reranksMatches() {
+        // GIVEN
+        AuthorNamePrefixIndex index = new AuthorNamePrefixIndex(authorByName);
+        marthaBook.addRatings(new long[] {0, 0, 0, 0, 0, 100});
+
+        // WHEN
+        index.refreshRatings();
+
+        // THEN
+        assertEquals(ImmutableList.of("Mary Shelley", "Martha Wells"), index.findTopMatches("mar", 2));
+    }
+
+    @Test
+    public void findTopMatches_randomCatalog_matchesFullScan() {
+        // GIVEN
+        Random random = new Random(7);
+        Map<String, Author> catalog = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            String name = "" + (char) ('a' + random.nextInt(3)) + (char) ('a' + random.nextInt(3)) + i;
+            catalog.put(name, author(name, book(1 + random.nextInt(5), 1 + random.nextInt(5))));
+        }
+        AuthorNamePrefixIndex index = new AuthorNamePrefixIndex(catalog);
+
+        // WHEN
+        List<String> matches = index.findTopMatches("ab", 20);
+
+        // THEN
+        List<String> expected = new ArrayList<>();
+        catalog.keySet().stream()
+            .filter(name -> name.startsWith("ab"))
+            .sorted((first, second) -> {
+                double firstRating = catalog.get(first).getBestRatedBook().get().getWeightedRating().get();
+                double secondRating = catalog.get(second).getBestRatedBook().get().getWeightedRating().get();
+                return firstRating == secondRating ? first.compareTo(second) : Double.compare(secondRating,
+                    firstRating);
+            })
+            .limit(20)
+            .forEach(expected::add);
+        assertEquals(expected, matches);
+    }
+
+    @Test
+    public void findTopMatches_nullPrefix_throwsIllegalArgumentException() {
+        // GIVEN
+        AuthorNamePrefixIndex index = new AuthorNamePrefixIndex(authorByName);
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> index.findTopMatches(null, 5));
+    }
+}
@@ -0,0 +1,177 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.BookSource;
+import com.amazon.ata.optionals.optionals.models.ListBookSource;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class AuthorSecondaryIndexTest {
+
+    private Publisher publisher;
+    private Printing paperback;
+    private Printing hardcover;
+    private Book book;
+    private Book hardcoverOnly;
+    private Author author;
+    private Map<String, Author> authorByName;
+
+    @BeforeEach
+    public void setup() {
+        publisher = new Publisher("publisher-id", "name", "contact");
+        paperback = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+        hardcover = new Printing(PrintingType.HARDCOVER, publisher, new Date());
+        book = new Book("isbn", "title", ImmutableList.of(paperback, hardcover,
+            new Printing(PrintingType.PAPERBACK, publisher, new Date())), ImmutableList.of(5));
+        hardcoverOnly = new Book("isbn-2", "title", ImmutableList.of(hardcover), ImmutableList.of());
+        author = new Author("name", "author-id", ImmutableList.of(), ImmutableList.of(book, hardcoverOnly));
+        authorByName = new HashMap<>();
+        authorByName.put("name", author);
+        authorByName.put("pseudonym", author);
+    }
+
+    @Test
+    public void findLookups_indexedAuthor_findsByIdAndIsbn() {
+        // GIVEN
+        AuthorDao authorDao = new AuthorDao(authorByName);
+
+        // WHEN + THEN
+        assertEquals(author, authorDao.findAuthorById("author-id").get());
+        assertEquals(book, authorDao.findBookByIsbn("isbn").get());
+        assertEquals(author, authorDao.findAuthorByIsbn("isbn-2").get());
+        assertFalse(authorDao.findAuthorById("missing").isPresent());
+        assertFalse(authorDao.findBookByIsbn(null).isPresent());
+    }
+
+    @Test
+    public void findByPublisherId_indexedPrintings_streamsEachMatch() {
+        // GIVEN
+        AuthorDao authorDao = new AuthorDao(authorByName);
+
+        // WHEN + THEN
+        assertEquals(4, authorDao.findPrintingsByPublisherId("publisher-id").count());
+        assertEquals(ImmutableList.of(book),
+            authorDao.findBooksWithPaperbackByPublisherId("publisher-id").collect(Collectors.toList()));
+        assertEquals(0, authorDao.findPrintingsByPublisherId("missing").count());
+    }
+
+    @Test
+    public void rebuildSecondaryIndex_mapChanged_findsNewAuthor() {
+        // GIVEN
+        AuthorDao authorDao = new AuthorDao(authorByName);
+        assertFalse(authorDao.findAuthorById("new-id").isPresent());
+        authorByName.put("new", new Author("new", "new-id", ImmutableList.of(), ImmutableList.of()));
+
+        // WHEN
+        authorDao.rebuildSecondaryIndex();
+
+        // THEN
+        assertEquals("new", authorDao.findAuthorById("new-id").get().getName());
+    }
+
+    @Test
+    public void findAuthorById_concurrentDaoUpdated_findsNewAuthor() {
+        // GIVEN
+        ConcurrentAuthorDao authorDao = new ConcurrentAuthorDao(authorByName);
+        assertEquals(author, authorDao.findAuthorById("author-id").get());
+
+        // WHEN
+        authorDao.remove("name");
+        authorDao.remove("pseudonym");
+        authorDao.upsert("new", new Author("new", "new-id", ImmutableList.of(), ImmutableList.of()));
+
+        // THEN
+        assertFalse(authorDao.findAuthorById("author-id").isPresent());
+        assertEquals("new", authorDao.findAuthorById("new-id").get().getName());
+    }
+
+    @Test
+    public void findBookByIsbn_cachingDao_usesDelegateIndex() {
+        // GIVEN
+        AuthorDao authorDao = new CachingAuthorDao(new AuthorDao(authorByName), 10, Duration.ofMinutes(1));
+
+        // WHEN + THEN
+        assertEquals(book, authorDao.findBookByIsbn("isbn").get());
+    }
+
+    @Test
+    public void getSecondaryIndex_concurrentDaoRacingReaders_buildsOncePerSnapshot() throws InterruptedException {
+        // GIVEN
+        ConcurrentAuthorDao authorDao = new ConcurrentAuthorDao(authorByName);
+        AuthorSecondaryIndex before = authorDao.getSecondaryIndex();
+        authorDao.upsert("new", new Author("new", "new-id", ImmutableList.of(), ImmutableList.of()));
+        Set<AuthorSecondaryIndex> seen = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                seen.add(authorDao.getSecondaryIndex());
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        // WHEN
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // THEN
+        assertEquals(1, seen.size());
+        assertNotSame(before, seen.iterator().next());
+        assertEquals("new", authorDao.findAuthorById("new-id").get().getName());
+    }
+
+    @Test
+    public void findBookByIsbn_lazyAuthor_streamsBooksOnce() {
+        // GIVEN
+        ListBookSource pages = new ListBookSource(ImmutableList.of(book, hardcoverOnly), 1);
+        AtomicInteger fetchCount = new AtomicInteger();
+        BookSource countingSource = cursor -> {
+            fetchCount.incrementAndGet();
+            return pages.fetchPage(cursor);
+        };
+        Author lazyAuthor = new Author("lazy", "lazy-id", ImmutableList.of(), countingSource);
+        Map<String, Author> lazyAuthorByName = new HashMap<>();
+        lazyAuthorByName.put("lazy", lazyAuthor);
+
+        // WHEN
+        AuthorSecondaryIndex index = new AuthorSecondaryIndex(lazyAuthorByName);
+
+        // THEN
+        assertEquals(2, fetchCount.get());
+        assertEquals(hardcoverOnly, index.findBookByIsbn("isbn-2").get());
+        assertEquals(lazyAuthor, index.findAuthorByIsbn("isbn").get());
+    }
+}
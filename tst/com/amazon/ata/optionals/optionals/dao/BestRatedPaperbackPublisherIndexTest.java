@@ -0,0 +1,74 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.GetPublisherOfBestRatedPaperbackForAuthorActivity;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BestRatedPaperbackPublisherIndexTest {
+
+    private Publisher testPublisher;
+    private Author testAuthor;
+    private Map<String, Author> testAuthorMap;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("id", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, testPublisher, new Date());
+        Book book = new Book("isbn", "title", ImmutableList.of(printing), ImmutableList.of(5));
+        testAuthor = new Author("name", "id", ImmutableList.of(), ImmutableList.of(book));
+        testAuthorMap = new HashMap<>();
+        testAuthorMap.put("name", testAuthor);
+        testAuthorMap.put("pseudonym", testAuthor);
+    }
+
+    @Test
+    public void findPublisherByAuthorName_nameAndPseudonymIndexed_returnsPublisher() {
+        // GIVEN
+        BestRatedPaperbackPublisherIndex index = new BestRatedPaperbackPublisherIndex(testAuthorMap);
+
+        // WHEN + THEN
+        assertEquals(testPublisher, index.findPublisherByAuthorName("name").get());
+        assertEquals(testPublisher, index.findPublisherByAuthorName("pseudonym").get());
+    }
+
+    @Test
+    public void findPublisherByAuthorName_unknownName_returnsEmptyOptional() {
+        // GIVEN
+        BestRatedPaperbackPublisherIndex index = new BestRatedPaperbackPublisherIndex(testAuthorMap);
+
+        // WHEN + THEN
+        assertFalse(index.findPublisherByAuthorName("unknown").isPresent());
+    }
+
+    @Test
+    public void rebuildPublisherIndex_authorAddedAfterBuild_picksUpNewAuthor() {
+        // GIVEN
+        AuthorDao authorDao = new AuthorDao(testAuthorMap, true);
+        GetPublisherOfBestRatedPaperbackForAuthorActivity activity =
+            new GetPublisherOfBestRatedPaperbackForAuthorActivity(authorDao);
+        testAuthorMap.put("newName", testAuthor);
+
+        // WHEN
+        boolean foundBeforeRebuild = activity.handleRequest("newName").isPresent();
+        authorDao.rebuildPublisherIndex();
+
+        // THEN
+        assertFalse(foundBeforeRebuild);
+        assertTrue(activity.handleRequest("newName").isPresent());
+    }
+}
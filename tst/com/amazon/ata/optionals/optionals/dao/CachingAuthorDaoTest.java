@@ -0,0 +1,116 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CachingAuthorDaoTest {
+
+    private Author testAuthor;
+    private FakeTicker ticker;
+    private CachingAuthorDao cachingAuthorDao;
+
+    @BeforeEach
+    public void setup() {
+        testAuthor = new Author("name", "id", ImmutableList.of(), ImmutableList.of());
+        ticker = new FakeTicker();
+        cachingAuthorDao = new CachingAuthorDao(new AuthorDao(ImmutableMap.of("name", testAuthor)),
+            10, Duration.ofMinutes(5), ticker);
+    }
+
+    @Test
+    public void findAuthorByName_repeatedLookups_hitsCache() {
+        // WHEN
+        cachingAuthorDao.findAuthorByName("name");
+        cachingAuthorDao.findAuthorByName("name");
+
+        // THEN
+        assertEquals(testAuthor, cachingAuthorDao.findAuthorByName("name").get());
+        assertEquals(1, cachingAuthorDao.getStats().missCount());
+        assertEquals(2, cachingAuthorDao.getStats().hitCount());
+    }
+
+    @Test
+    public void findAuthorByName_unknownName_cachesEmptyResult() {
+        // WHEN
+        cachingAuthorDao.findAuthorByName("unknown");
+
+        // THEN
+        assertFalse(cachingAuthorDao.findAuthorByName("unknown").isPresent());
+        assertEquals(1, cachingAuthorDao.getStats().hitCount());
+    }
+
+    @Test
+    public void findAuthorByName_afterTimeToLive_reloads() {
+        // GIVEN
+        cachingAuthorDao.findAuthorByName("name");
+
+        // WHEN
+        ticker.advance(Duration.ofMinutes(6));
+        cachingAuthorDao.findAuthorByName("name");
+
+        // THEN
+        assertEquals(2, cachingAuthorDao.getStats().missCount());
+        assertEquals(1, cachingAuthorDao.getStats().evictionCount());
+    }
+
+    @Test
+    public void findAuthorsByNames_partiallyCached_loadsOnlyMissingNames() {
+        // GIVEN
+        cachingAuthorDao.findAuthorByName("name");
+
+        // WHEN
+        cachingAuthorDao.findAuthorsByNames(ImmutableList.of("name", "unknown"));
+
+        // THEN
+        assertEquals(1, cachingAuthorDao.getStats().hitCount());
+        assertEquals(2, cachingAuthorDao.getStats().missCount());
+    }
+
+    @Test
+    public void findAuthorsByNames_nullName_matchesUncachedDao() {
+        // GIVEN
+        List<String> names = Arrays.asList("unknown", null, "name", null);
+
+        // WHEN
+        Map<String, Optional<Author>> authorsByName = cachingAuthorDao.findAuthorsByNames(names);
+
+        // THEN
+        assertEquals(new AuthorDao(ImmutableMap.of("name", testAuthor)).findAuthorsByNames(names), authorsByName);
+        assertEquals(Arrays.asList("unknown", null, "name"), new ArrayList<>(authorsByName.keySet()));
+        assertEquals(2, cachingAuthorDao.getStats().missCount());
+    }
+
+    @Test
+    public void getAuthorByName_cachingDao_returnsDelegateAuthors() {
+        // GIVEN + WHEN + THEN
+        assertEquals(testAuthor, cachingAuthorDao.getAuthorByName().get("name"));
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+}
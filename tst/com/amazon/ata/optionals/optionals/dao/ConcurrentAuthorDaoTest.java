@@ -0,0 +1,181 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.BookPage;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentAuthorDaoTest {
+
+    private static Author author(String name, Publisher publisher) {
+        Printing printing = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+        Book book = new Book(name + "-isbn", "title", ImmutableList.of(printing), ImmutableList.of(5));
+        return new Author(name, name + "-id", ImmutableList.of(), ImmutableList.of(book));
+    }
+
+    @Test
+    public void upsert_newAndExistingNames_returnsPreviousAuthor() {
+        // GIVEN
+        Author original = author("name", null);
+        Author replacement = author("name", null);
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(ImmutableMap.of("name", original));
+
+        // WHEN + THEN
+        assertEquals(original, dao.upsert("name", replacement).get());
+        assertEquals(replacement, dao.findAuthorByName("name").get());
+        assertFalse(dao.upsert("other", original).isPresent());
+        assertEquals(2, dao.getAuthorNames().size());
+    }
+
+    @Test
+    public void remove_presentAndMissingNames_returnsRemovedAuthor() {
+        // GIVEN
+        Author original = author("name", null);
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(ImmutableMap.of("name", original));
+
+        // WHEN + THEN
+        assertEquals(original, dao.remove("name").get());
+        assertFalse(dao.remove("name").isPresent());
+        assertFalse(dao.findAuthorByName("name").isPresent());
+    }
+
+    @Test
+    public void getAuthorNames_afterUpdate_previousSnapshotUnchanged() {
+        // GIVEN
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(ImmutableMap.of("name", author("name", null)));
+        Collection<String> names = dao.getAuthorNames();
+
+        // WHEN
+        dao.upsertAll(ImmutableMap.of("first", author("first", null), "second", author("second", null)));
+        assertEquals(2, dao.removeAll(ImmutableList.of("first", "missing", "name")));
+
+        // THEN
+        assertEquals(ImmutableList.of("name"), ImmutableList.copyOf(names));
+        assertEquals(ImmutableList.of("second"), ImmutableList.copyOf(dao.getAuthorNames()));
+    }
+
+    @Test
+    public void upsert_publisherIndexEnabled_rebuildsIndex() {
+        // GIVEN
+        Publisher publisher = new Publisher("id", "name", "contact");
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(new HashMap<>(), true);
+
+        // WHEN
+        dao.upsert("name", author("name", publisher));
+
+        // THEN
+        assertEquals(publisher, dao.getPublisherIndex().get().findPublisherByAuthorName("name").get());
+    }
+
+    @Test
+    public void upsertAndRemove_publisherIndexEnabled_onlyRewalksChangedNames() {
+        // GIVEN
+        Publisher publisher = new Publisher("id", "name", "contact");
+        Author unchanged = author("unchanged", publisher);
+        AtomicInteger fetchCount = new AtomicInteger();
+        Author lazy = new Author("lazy", "lazy-id", ImmutableList.of(), cursor -> {
+            fetchCount.incrementAndGet();
+            return new BookPage(unchanged.getBooks(), null);
+        });
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(
+            ImmutableMap.of("lazy", lazy, "removed", author("removed", publisher)), true);
+        int fetchesToBuild = fetchCount.get();
+
+        // WHEN
+        dao.upsert("name", author("name", publisher));
+        dao.remove("removed");
+
+        // THEN
+        BestRatedPaperbackPublisherIndex index = dao.getPublisherIndex().get();
+        assertEquals(fetchesToBuild, fetchCount.get());
+        assertEquals(publisher, index.findPublisherByAuthorName("lazy").get());
+        assertEquals(publisher, index.findPublisherByAuthorName("name").get());
+        assertFalse(index.findPublisherByAuthorName("removed").isPresent());
+    }
+
+    @Test
+    public void upsert_nullAuthor_throwsIllegalArgumentException() {
+        // GIVEN
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(new HashMap<>());
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> dao.upsert("name", null));
+    }
+
+    @Test
+    public void findAuthorByName_concurrentUpserts_alwaysFindsAuthor() throws Exception {
+        // GIVEN
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("name", author("name", null));
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(authorByName);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                if (!dao.findAuthorByName("name").isPresent()) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        // WHEN
+        for (int i = 0; i < 1_000; i++) {
+            dao.upsert("name", author("name", null));
+            dao.upsert("other-" + i, author("other", null));
+        }
+        writing.set(false);
+        reader.join();
+
+        // THEN
+        assertEquals(0, misses.get());
+        assertTrue(dao.getAuthorNames().contains("other-999"));
+    }
+
+    @Test
+    public void getPublisherIndex_concurrentUpserts_neverOlderThanAuthors() throws Exception {
+        // GIVEN
+        Publisher publisher = new Publisher("id", "name", "contact");
+        ConcurrentAuthorDao dao = new ConcurrentAuthorDao(new HashMap<>(), true);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger staleReads = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                for (String name : dao.getAuthorNames()) {
+                    if (!dao.getPublisherIndex().get().findPublisherByAuthorName(name).isPresent()) {
+                        staleReads.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        // WHEN
+        for (int i = 0; i < 200; i++) {
+            dao.upsert("name-" + i, author("name-" + i, publisher));
+        }
+        writing.set(false);
+        reader.join();
+
+        // THEN
+        assertEquals(0, staleReads.get());
+    }
+}
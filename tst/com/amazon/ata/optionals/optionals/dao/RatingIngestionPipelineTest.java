@@ -0,0 +1,127 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.RatingEvent;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RatingIngestionPipelineTest {
+
+    private Book first;
+    private Book second;
+    private Author author;
+    private RatingIngestionPipeline pipeline;
+
+    @BeforeEach
+    public void setup() {
+        first = new Book("first", "title", ImmutableList.of(), ImmutableList.of(4));
+        second = new Book("second", "title", ImmutableList.of(), ImmutableList.of(3));
+        author = new Author("name", "id", ImmutableList.of(), ImmutableList.of(first, second));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("name", author);
+        pipeline = new RatingIngestionPipeline(new AuthorDao(authorByName));
+    }
+
+    @Test
+    public void ingest_batchRaisesRating_updatesBestRatedBook() {
+        // GIVEN
+        assertEquals(first, author.getBestRatedBook().get());
+
+        // WHEN
+        RatingIngestionPipeline.IngestionResult result = pipeline.ingest(ImmutableList.of(
+            new RatingEvent("second", 5), new RatingEvent("second", 5), new RatingEvent("first", 1)));
+
+        // THEN
+        assertEquals(3, result.getAcceptedRatingCount());
+        assertEquals(2, result.getUpdatedBookCount());
+        assertEquals(second, author.getBestRatedBook().get());
+        assertEquals(2.5, first.getWeightedRating().get());
+        assertEquals(ImmutableList.of(3, 5, 5), second.getStarRatings());
+    }
+
+    @Test
+    public void ingest_unknownIsbnAndInvalidStars_skipsAndCounts() {
+        // GIVEN
+        List<RatingEvent> batch = new ArrayList<>();
+        batch.add(new RatingEvent("missing", 5));
+        batch.add(new RatingEvent("first", 7));
+        batch.add(null);
+        batch.add(new RatingEvent("first", 2));
+
+        // WHEN
+        RatingIngestionPipeline.IngestionResult result = pipeline.ingest(batch);
+
+        // THEN
+        assertEquals(1, result.getAcceptedRatingCount());
+        assertEquals(1, result.getUnknownIsbnRatingCount());
+        assertEquals(2, result.getInvalidRatingCount());
+        assertEquals(3.0, first.getWeightedRating().get());
+        assertEquals(1, pipeline.getUnknownIsbnRatingCount());
+    }
+
+    @Test
+    public void ingest_concurrentBatches_countsEveryRating() throws Exception {
+        // GIVEN
+        List<RatingEvent> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new RatingEvent(i % 2 == 0 ? "first" : "second", 5));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(executor.submit(() -> pipeline.ingest(batch)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // THEN
+        assertEquals(4_000, pipeline.getAcceptedRatingCount());
+        assertEquals(2_001, first.getStarRatingCount());
+        assertEquals(2_001, second.getStarRatingCount());
+        assertEquals(first, author.getBestRatedBook().get());
+    }
+
+    @Test
+    public void ingest_nullBatch_throwsIllegalArgumentException() {
+        // GIVEN + WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> pipeline.ingest(null));
+    }
+
+    @Test
+    public void ingest_overCachingAuthorDao_updatesDelegateBooks() {
+        // GIVEN
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("name", author);
+        CachingAuthorDao cachingAuthorDao =
+            new CachingAuthorDao(new AuthorDao(authorByName), 10, Duration.ofMinutes(1));
+        RatingIngestionPipeline cachedPipeline = new RatingIngestionPipeline(cachingAuthorDao);
+
+        // WHEN
+        RatingIngestionPipeline.IngestionResult result = cachedPipeline.ingest(ImmutableList.of(
+            new RatingEvent("second", 5), new RatingEvent("second", 5)));
+
+        // THEN
+        assertEquals(2, result.getAcceptedRatingCount());
+        assertEquals(0, result.getUnknownIsbnRatingCount());
+        assertEquals(second, cachingAuthorDao.findAuthorByName("name").get().getBestRatedBook().get());
+    }
+}
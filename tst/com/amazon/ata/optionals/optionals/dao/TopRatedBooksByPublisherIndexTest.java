@@ -0,0 +1,137 @@
+package com.amazon.ata.optionals.optionals.dao;
+
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.BookSource;
+import com.amazon.ata.optionals.optionals.models.ListBookSource;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopRatedBooksByPublisherIndexTest {
+
+    @Test
+    public void getTopRatedBooks_booksAcrossAuthors_ranksPerPublisher() {
+        // GIVEN
+        Publisher publisher = new Publisher("p1", "name", "contact");
+        Publisher otherPublisher = new Publisher("p2", "other", "contact");
+        Book good = new Book("good", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, publisher, new Date()),
+                new Printing(PrintingType.HARDCOVER, otherPublisher, new Date())),
+            ImmutableList.of(4));
+        Book great = new Book("great", "title",
+            ImmutableList.of(new Printing(PrintingType.HARDCOVER, publisher, new Date())), ImmutableList.of(5));
+        Author author = new Author("author", "a1", ImmutableList.of(), ImmutableList.of(good));
+        Author otherAuthor = new Author("other", "a2", ImmutableList.of(), ImmutableList.of(great));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("author", author);
+        authorByName.put("pseudonym", author);
+        authorByName.put("other", otherAuthor);
+
+        // WHEN
+        TopRatedBooksByPublisherIndex index = new AuthorDao(authorByName).buildTopRatedBooksByPublisherIndex();
+
+        // THEN
+        assertEquals(ImmutableList.of(great, good), index.getTopRatedBooks(publisher, 5));
+        assertEquals(ImmutableList.of(good), index.getTopRatedBooks(otherPublisher, 5));
+        assertTrue(index.getTopRatedBooks(new Publisher("p3", "unknown", "contact"), 5).isEmpty());
+    }
+
+    @Test
+    public void getTopRatedBooks_ratingAdded_reranks() {
+        // GIVEN
+        Publisher publisher = new Publisher("p1", "name", "contact");
+        Book first = new Book("first", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, publisher, new Date())), ImmutableList.of(3));
+        Book second = new Book("second", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, publisher, new Date())), ImmutableList.of(2));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("author", new Author("author", "a1", ImmutableList.of(), ImmutableList.of(first, second)));
+        TopRatedBooksByPublisherIndex index = new TopRatedBooksByPublisherIndex(authorByName);
+
+        // WHEN
+        second.addRating(5);
+        second.addRating(5);
+
+        // THEN
+        assertEquals(ImmutableList.of(second), index.getTopRatedBooks(publisher, 1));
+    }
+
+    @Test
+    public void getTopRatedBooks_twoPublishersWithoutIds_keepsSeparateBuckets() {
+        // GIVEN
+        Publisher publisher = new Publisher(null, "name", "contact");
+        Publisher otherPublisher = new Publisher(null, "other", "contact");
+        Book book = new Book("book", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, publisher, new Date())), ImmutableList.of(3));
+        Book otherBook = new Book("other", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, otherPublisher, new Date())), ImmutableList.of(4));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("author", new Author("author", "a1", ImmutableList.of(), ImmutableList.of(book, otherBook)));
+
+        // WHEN
+        TopRatedBooksByPublisherIndex index = new TopRatedBooksByPublisherIndex(authorByName);
+
+        // THEN
+        assertEquals(ImmutableList.of(book), index.getTopRatedBooks(publisher, 5));
+        assertEquals(ImmutableList.of(otherBook), index.getTopRatedBooks(otherPublisher, 5));
+    }
+
+    @Test
+    public void close_indexRebuiltRepeatedly_booksStopUpdatingOldIndexes() {
+        // GIVEN
+        Publisher publisher = new Publisher("p1", "name", "contact");
+        Book book = new Book("book", "title",
+            ImmutableList.of(new Printing(PrintingType.PAPERBACK, publisher, new Date())), ImmutableList.of(3));
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("author", new Author("author", "a1", ImmutableList.of(), ImmutableList.of(book)));
+        AuthorDao authorDao = new AuthorDao(authorByName);
+
+        // WHEN
+        TopRatedBooksByPublisherIndex index = authorDao.buildTopRatedBooksByPublisherIndex();
+        for (int i = 0; i < 50; i++) {
+            index.close();
+            index = authorDao.buildTopRatedBooksByPublisherIndex();
+        }
+
+        // THEN
+        assertEquals(ImmutableList.of(book), index.getTopRatedBooks(publisher, 1));
+        index.close();
+        assertTrue(index.getTopRatedBooks(publisher, 1).isEmpty());
+    }
+
+    @Test
+    public void getTopRatedBooks_lazyAuthor_streamsBooksOnce() {
+        // GIVEN
+        Publisher publisher = new Publisher("p1", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, publisher, new Date());
+        Book good = new Book("good", "title", ImmutableList.of(printing), ImmutableList.of(4));
+        Book great = new Book("great", "title", ImmutableList.of(printing), ImmutableList.of(5));
+        ListBookSource pages = new ListBookSource(ImmutableList.of(good, great), 1);
+        AtomicInteger fetchCount = new AtomicInteger();
+        BookSource countingSource = cursor -> {
+            fetchCount.incrementAndGet();
+            return pages.fetchPage(cursor);
+        };
+        Map<String, Author> authorByName = new HashMap<>();
+        authorByName.put("lazy", new Author("lazy", "a1", ImmutableList.of(), countingSource));
+
+        // WHEN
+        TopRatedBooksByPublisherIndex index = new AuthorDao(authorByName).buildTopRatedBooksByPublisherIndex();
+
+        // THEN
+        assertEquals(2, fetchCount.get());
+        assertEquals(ImmutableList.of(great, good), index.getTopRatedBooks(publisher, 2));
+    }
+}
@@ -0,0 +1,56 @@
+package com.amazon.ata.optionals.optionals.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void snapshot_recordedSamples_reportsBucketUpperBounds() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+
+        // WHEN
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // THEN
+        assertEquals(100, snapshot.getCount());
+        assertEquals(127, snapshot.getPercentileNanos(50));
+        assertEquals(127, snapshot.getPercentileNanos(99));
+        assertEquals(5_000, snapshot.getPercentileNanos(100));
+        assertEquals(5_000, snapshot.getMaxNanos());
+        assertEquals(149.0, snapshot.getMeanNanos());
+    }
+
+    @Test
+    public void record_zeroNegativeAndHugeSamples_recordsEach() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // WHEN
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        // THEN
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(0, snapshot.getPercentileNanos(50));
+        assertEquals(Long.MAX_VALUE, snapshot.getPercentileNanos(100));
+    }
+
+    @Test
+    public void getPercentileNanos_outOfRange_throwsIllegalArgumentException() {
+        // GIVEN
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101));
+    }
+}
@@ -0,0 +1,188 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthorTest {
+
+    private List<Book> backlist;
+    private CountingBookSource bookSource;
+    private Author lazyAuthor;
+
+    /**
+     * Pages over a list, recording how many pages were loaded.
+     */
+    private static class CountingBookSource implements BookSource {
+        private final ListBookSource delegate;
+        private int fetchCount;
+
+        CountingBookSource(List<Book> books, int pageSize) {
+            delegate = new ListBookSource(books, pageSize);
+        }
+
+        @Override
+        public BookPage fetchPage(String cursor) {
+            fetchCount++;
+            return delegate.fetchPage(cursor);
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        backlist = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Ratings cycle 1..5, so books 4, 9, 14, 19 and 24 tie on 5 stars
+            backlist.add(new Book("isbn-" + i, "title", ImmutableList.of(), ImmutableList.of(1 + i % 5)));
+        }
+        backlist.add(new Book("unrated", "title", ImmutableList.of(), ImmutableList.of()));
+        bookSource = new CountingBookSource(backlist, 10);
+        lazyAuthor = new Author("name", "id", ImmutableList.of(), bookSource);
+    }
+
+    @Test
+    public void streamBooks_lazyAuthor_loadsPagesOnlyAsNeeded() {
+        // GIVEN + WHEN
+        List<Book> firstBooks = lazyAuthor.streamBooks().limit(3).collect(Collectors.toList());
+
+        // THEN
+        assertEquals(backlist.subList(0, 3), firstBooks);
+        assertEquals(1, bookSource.fetchCount);
+        assertEquals(backlist, lazyAuthor.streamBooks().collect(Collectors.toList()));
+        assertTrue(lazyAuthor.isLazilyLoaded());
+    }
+
+    @Test
+    public void getBookPage_followingCursors_visitsEveryBookOnce() {
+        // GIVEN
+        List<Book> books = new ArrayList<>();
+        String cursor = null;
+
+        // WHEN
+        do {
+            BookPage page = lazyAuthor.getBookPage(cursor);
+            books.addAll(page.getBooks());
+            cursor = page.getNextCursor().orElse(null);
+        } while (cursor != null);
+
+        // THEN
+        assertEquals(backlist, books);
+        assertEquals(backlist, lazyAuthor.getBooks());
+    }
+
+    @Test
+    public void getBestRatedBook_lazyAuthor_returnsFirstOfTiedBest() {
+        // GIVEN + WHEN + THEN
+        assertEquals(backlist.get(4), lazyAuthor.getBestRatedBook().get());
+        assertEquals(backlist.get(4), lazyAuthor.getBestRatedBook(new MeanRatingStrategy()).get());
+    }
+
+    @Test
+    public void findBestRatedBook_lazyAuthor_loadsEachPageOnce() {
+        // GIVEN + WHEN
+        Author.BestRatedBookResult result = lazyAuthor.findBestRatedBook();
+
+        // THEN
+        assertEquals(backlist.get(4), result.getBook().get());
+        assertTrue(result.hasBooks());
+        assertEquals(3, bookSource.fetchCount);
+    }
+
+    @Test
+    public void findBestRatedBook_onlyUnratedBooks_hasBooksWithoutBestBook() {
+        // GIVEN
+        Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+        Author rankedAuthor = new Author("ranked", "id", ImmutableList.of(), ImmutableList.of(unrated));
+        rankedAuthor.trackBookRanking();
+        Author emptyAuthor = new Author("empty", "id", ImmutableList.of(), ImmutableList.of());
+
+        // WHEN
+        Author.BestRatedBookResult ranked = rankedAuthor.findBestRatedBook();
+        Author.BestRatedBookResult empty = emptyAuthor.findBestRatedBook();
+
+        // THEN
+        assertFalse(ranked.getBook().isPresent());
+        assertTrue(ranked.hasBooks());
+        assertFalse(empty.getBook().isPresent());
+        assertFalse(empty.hasBooks());
+    }
+
+    @Test
+    public void getTopRatedBooks_lazyAuthor_matchesEagerAuthor() {
+        // GIVEN
+        Author eagerAuthor = new Author("name", "id", ImmutableList.of(), backlist);
+
+        // WHEN + THEN
+        assertEquals(eagerAuthor.getTopRatedBooks(7), lazyAuthor.getTopRatedBooks(7));
+        assertTrue(lazyAuthor.getTopRatedBooks(0).isEmpty());
+    }
+
+    @Test
+    public void getBookPage_eagerAuthor_pagesOverList() {
+        // GIVEN
+        Author eagerAuthor = new Author("name", "id", ImmutableList.of(), backlist);
+
+        // WHEN
+        BookPage page = eagerAuthor.getBookPage(null);
+
+        // THEN
+        assertEquals(backlist, page.getBooks());
+        assertFalse(page.getNextCursor().isPresent());
+        assertFalse(eagerAuthor.isLazilyLoaded());
+    }
+
+    @Test
+    public void getBookPage_invalidCursor_throwsIllegalArgumentException() {
+        // GIVEN + WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> lazyAuthor.getBookPage("not a cursor"));
+    }
+
+    @Test
+    public void getBestRatedBook_withoutTracking_registersNoRanking() {
+        // GIVEN
+        Author eagerAuthor = new Author("name", "id", ImmutableList.of(), backlist);
+
+        // WHEN
+        Book best = eagerAuthor.getBestRatedBook().get();
+        eagerAuthor.getTopRatedBooks(3);
+
+        // THEN
+        assertEquals("isbn-4", best.getIsbn());
+        assertEquals(0, best.getRankingCount());
+    }
+
+    @Test
+    public void trackBookRanking_eagerAuthor_followsNewRatings() {
+        // GIVEN
+        Author eagerAuthor = new Author("name", "id", ImmutableList.of(), backlist);
+        Book unrated = backlist.get(backlist.size() - 1);
+
+        // WHEN
+        boolean tracking = eagerAuthor.trackBookRanking();
+        eagerAuthor.trackBookRanking();
+        unrated.addRating(5);
+        unrated.addRating(5);
+
+        // THEN
+        assertTrue(tracking);
+        assertEquals(1, unrated.getRankingCount());
+        assertEquals("isbn-4", eagerAuthor.getBestRatedBook().get().getIsbn());
+        assertEquals(26, eagerAuthor.getTopRatedBooks(30).size());
+    }
+
+    @Test
+    public void trackBookRanking_lazyAuthor_returnsFalseWithoutLoading() {
+        // GIVEN + WHEN + THEN
+        assertFalse(lazyAuthor.trackBookRanking());
+        assertEquals(0, bookSource.fetchCount);
+    }
+}
@@ -0,0 +1,136 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookRankingTest {
+
+    @Test
+    public void getTopRatedBooks_mixedRatings_returnsHighestFirstWithoutUnrated() {
+        // GIVEN
+        Book low = new Book("low", "title", ImmutableList.of(), ImmutableList.of(2));
+        Book high = new Book("high", "title", ImmutableList.of(), ImmutableList.of(5));
+        Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+        Book middle = new Book("middle", "title", ImmutableList.of(), ImmutableList.of(3));
+        BookRanking ranking = new BookRanking(ImmutableList.of(low, high, unrated, middle));
+
+        // WHEN + THEN
+        assertEquals(ImmutableList.of(high, middle), ranking.getTopRatedBooks(2));
+        assertEquals(ImmutableList.of(high, middle, low), ranking.getTopRatedBooks(10));
+    }
+
+    @Test
+    public void getTopRatedBooks_ratingAdded_repositionsBook() {
+        // GIVEN
+        Book first = new Book("first", "title", ImmutableList.of(), ImmutableList.of(4));
+        Book second = new Book("second", "title", ImmutableList.of(), ImmutableList.of(3));
+        Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+        BookRanking ranking = new BookRanking(ImmutableList.of(first, second, unrated));
+
+        // WHEN
+        second.addRating(5);
+        second.addRating(5);
+        unrated.addRating(1);
+
+        // THEN
+        assertEquals(ImmutableList.of(second, first, unrated), ranking.getTopRatedBooks(3));
+        assertEquals(second, ranking.getBestRatedBook().get());
+    }
+
+    @Test
+    public void getTopRatedBooks_tiedRatings_keepsInsertionOrder() {
+        // GIVEN
+        Book first = new Book("first", "title", ImmutableList.of(), ImmutableList.of(4));
+        Book second = new Book("second", "title", ImmutableList.of(), ImmutableList.of(4));
+
+        // WHEN
+        BookRanking ranking = new BookRanking(ImmutableList.of(first, second));
+
+        // THEN
+        assertEquals(ImmutableList.of(first, second), ranking.getTopRatedBooks(2));
+    }
+
+    @Test
+    public void getBestRatedBook_noRatedBooks_returnsEmpty() {
+        // GIVEN
+        BookRanking ranking = new BookRanking();
+        ranking.add(new Book("isbn", "title", ImmutableList.of(), ImmutableList.of()));
+
+        // WHEN + THEN
+        assertFalse(ranking.getBestRatedBook().isPresent());
+    }
+
+    @Test
+    public void add_nullBook_throwsIllegalArgumentException() {
+        // GIVEN
+        BookRanking ranking = new BookRanking();
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> ranking.add(null));
+    }
+
+    @Test
+    public void getTopRatedBooks_author_followsNewRatings() {
+        // GIVEN
+        Book first = new Book("first", "title", ImmutableList.of(), ImmutableList.of(4));
+        Book second = new Book("second", "title", ImmutableList.of(), ImmutableList.of(3));
+        Author author = new Author("name", "id", ImmutableList.of(), ImmutableList.of(first, second));
+        assertEquals(ImmutableList.of(first), author.getTopRatedBooks(1));
+
+        // WHEN
+        second.addRating(5);
+        second.addRating(5);
+
+        // THEN
+        assertEquals(ImmutableList.of(second), author.getTopRatedBooks(1));
+    }
+
+    @Test
+    public void close_rankingsRebuiltRepeatedly_registrationsStayBounded() {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(4));
+
+        // WHEN
+        for (int i = 0; i < 100; i++) {
+            BookRanking ranking = new BookRanking(ImmutableList.of(book));
+            ranking.close();
+        }
+        BookRanking current = new BookRanking(ImmutableList.of(book));
+
+        // THEN
+        assertEquals(1, book.getRankingCount());
+        assertEquals(ImmutableList.of(book), current.getTopRatedBooks(1));
+        current.close();
+        assertEquals(0, book.getRankingCount());
+        assertThrows(IllegalStateException.class, () -> current.add(book));
+    }
+
+    @Test
+    public void addRanking_droppedRankingsCollected_registrationsStayBounded() throws InterruptedException {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(4));
+        WeakReference<BookRanking> last = null;
+
+        // WHEN
+        for (int i = 0; i < 100; i++) {
+            last = new WeakReference<>(new BookRanking(ImmutableList.of(book)));
+        }
+        for (int attempt = 0; attempt < 50 && last.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        book.addRating(5);
+
+        // THEN
+        assertNull(last.get());
+        assertTrue(book.getRankingCount() <= 1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BookTest {
+
+    @Test
+    public void addRating_noPreviousRatings_updatesWeightedRating() {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of());
+
+        // WHEN
+        book.addRating(4);
+        book.addRating(5);
+
+        // THEN
+        assertEquals(4.5, book.getWeightedRating().get());
+        assertEquals(ImmutableList.of(4, 5), book.getStarRatings());
+    }
+
+    @Test
+    public void addRating_outOfRange_throwsIllegalArgumentException() {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of());
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> book.addRating(6));
+        assertFalse(book.getWeightedRating().isPresent());
+    }
+
+    @Test
+    public void addRatings_batchOfCounts_updatesWeightedRating() {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(1));
+
+        // WHEN
+        book.addRatings(new long[] {0, 0, 0, 0, 1, 2});
+
+        // THEN
+        assertEquals(3.75, book.getWeightedRating().get());
+        assertEquals(4, book.getStarRatingCount());
+        assertThrows(IllegalArgumentException.class, () -> book.addRatings(new long[] {1, 0, 0, 0, 0, 0}));
+    }
+
+    @Test
+    public void constructor_ratingOutOfRange_throwsIllegalArgumentException() {
+        // GIVEN + WHEN + THEN
+        assertThrows(IllegalArgumentException.class,
+            () -> new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(0)));
+    }
+
+    @Test
+    public void getPrintingsView_modified_throwsUnsupportedOperationException() {
+        // GIVEN
+        Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of());
+
+        // WHEN + THEN
+        assertThrows(UnsupportedOperationException.class, () -> book.getPrintingsView().add(null));
+    }
+
+    @Test
+    public void getPaperback_multiplePaperbacks_returnsLatest() {
+        // GIVEN
+        Printing older = new Printing(PrintingType.PAPERBACK, null, new Date(1_000L));
+        Printing latest = new Printing(PrintingType.PAPERBACK, null, new Date(3_000L));
+        Printing hardcover = new Printing(PrintingType.HARDCOVER, null, new Date(5_000L));
+        Book book = new Book("isbn", "title", ImmutableList.of(latest, hardcover, older), ImmutableList.of());
+
+        // WHEN + THEN
+        assertEquals(latest, book.getPaperback().get());
+        assertEquals(hardcover, book.getLatestPrinting(PrintingType.HARDCOVER).get());
+        assertFalse(book.getLatestPrinting(PrintingType.EBOOK).isPresent());
+    }
+
+    @Test
+    public void getPaperback_tiedPrintDates_returnsFirstInList() {
+        // GIVEN
+        Printing first = new Printing(PrintingType.PAPERBACK, null, new Date(1_000L));
+        Printing second = new Printing(PrintingType.PAPERBACK, null, new Date(1_000L));
+        Book book = new Book("isbn", "title", ImmutableList.of(first, second), ImmutableList.of());
+
+        // WHEN + THEN
+        assertEquals(first, book.getPaperback().get());
+    }
+
+    @Test
+    public void getPrintingsBetween_dateRange_returnsPrintingsInRangeOldestFirst() {
+        // GIVEN
+        Printing before = new Printing(PrintingType.PAPERBACK, null, new Date(1_000L));
+        Printing start = new Printing(PrintingType.PAPERBACK, null, new Date(2_000L));
+        Printing middle = new Printing(PrintingType.PAPERBACK, null, new Date(3_000L));
+        Printing end = new Printing(PrintingType.PAPERBACK, null, new Date(4_000L));
+        Book book = new Book("isbn", "title", ImmutableList.of(end, middle, before, start), ImmutableList.of());
+
+        // WHEN + THEN
+        assertEquals(ImmutableList.of(start, middle),
+            book.getPrintingsBetween(PrintingType.PAPERBACK, Instant.ofEpochMilli(2_000L),
+                Instant.ofEpochMilli(4_000L)));
+    }
+
+    @Test
+    public void fromStarRatingCounts_counts_matchesExpandedRatings() {
+        // GIVEN
+        Book expanded = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(2, 5, 5));
+
+        // WHEN
+        Book counted = Book.fromStarRatingCounts("isbn", "title", ImmutableList.of(), new long[] {0, 0, 1, 0, 0, 2});
+
+        // THEN
+        assertEquals(expanded.getStarRatings(), counted.getStarRatings());
+        assertEquals(expanded.getWeightedRating(), counted.getWeightedRating());
+        assertThrows(IllegalArgumentException.class,
+            () -> Book.fromStarRatingCounts("isbn", "title", ImmutableList.of(), new long[] {1}));
+    }
+}
@@ -0,0 +1,68 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PublisherRegistryTest {
+
+    @Test
+    public void intern_sameIdTwice_returnsSameInstance() {
+        // GIVEN
+        PublisherRegistry registry = new PublisherRegistry();
+
+        // WHEN
+        Publisher first = registry.intern("id", "name", "contact");
+        Publisher second = registry.intern(new Publisher("id", "other name", "other contact"));
+
+        // THEN
+        assertSame(first, second);
+        assertEquals("name", second.getName());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void intern_publisherWithoutId_returnsItWithoutRegistering() {
+        // GIVEN
+        PublisherRegistry registry = new PublisherRegistry();
+        Publisher publisher = new Publisher(null, "name", "contact");
+
+        // WHEN + THEN
+        assertSame(publisher, registry.intern(publisher));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void equals_sameIdDifferentDetails_returnsTrue() {
+        // GIVEN
+        Publisher publisher = new Publisher("id", "name", "contact");
+        Publisher other = new Publisher("id", "other", "other");
+
+        // WHEN + THEN
+        assertEquals(publisher, other);
+        assertEquals(publisher.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void equals_differentIds_returnsFalse() {
+        // GIVEN
+        Publisher publisher = new Publisher("id", "name", "contact");
+        Publisher other = new Publisher("other", "name", "contact");
+
+        // WHEN + THEN
+        assertNotEquals(publisher, other);
+    }
+
+    @Test
+    public void equals_twoNullIds_onlyEqualToItself() {
+        // GIVEN
+        Publisher publisher = new Publisher(null, "name", "contact");
+        Publisher other = new Publisher(null, "other", "other");
+
+        // WHEN + THEN
+        assertNotEquals(publisher, other);
+        assertEquals(publisher, publisher);
+    }
+}
@@ -0,0 +1,84 @@
+package com.amazon.ata.optionals.optionals.models;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RatingStrategyTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final Book book = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of(1, 5, 5, 5));
+    private final Book unrated = new Book("unrated", "title", ImmutableList.of(), ImmutableList.of());
+
+    @Test
+    public void mean_ratedBook_matchesDefaultWeightedRating() {
+        // GIVEN + WHEN + THEN
+        assertEquals(book.getWeightedRating(), book.getWeightedRating(new MeanRatingStrategy()));
+        assertFalse(unrated.getWeightedRating(new MeanRatingStrategy()).isPresent());
+    }
+
+    @Test
+    public void rootMeanSquare_ratedBook_returnsRootOfMeanSquare() {
+        // GIVEN + WHEN + THEN
+        assertEquals(Math.sqrt(76.0 / 4), book.getWeightedRating(new RootMeanSquareRatingStrategy()).get(), DELTA);
+    }
+
+    @Test
+    public void rootMeanSquare_afterBatchedRatings_includesBatch() {
+        // GIVEN
+        Book batched = new Book("isbn", "title", ImmutableList.of(), ImmutableList.of());
+
+        // WHEN
+        batched.addRatings(new long[] {0, 1, 0, 0, 0, 3});
+
+        // THEN
+        assertEquals(book.getWeightedRating(new RootMeanSquareRatingStrategy()),
+            batched.getWeightedRating(new RootMeanSquareRatingStrategy()));
+    }
+
+    @Test
+    public void bayesianAverage_fewRatings_pulledTowardPrior() {
+        // GIVEN
+        RatingStrategy strategy = new BayesianAverageRatingStrategy(3.0, 4);
+
+        // WHEN + THEN
+        assertEquals((12.0 + 16.0) / 8, book.getWeightedRating(strategy).get(), DELTA);
+        assertEquals(3.0, unrated.getWeightedRating(strategy).get(), DELTA);
+        assertThrows(IllegalArgumentException.class, () -> new BayesianAverageRatingStrategy(6.0, 4));
+    }
+
+    @Test
+    public void wilsonLowerBound_moreEvidence_ranksHigher() {
+        // GIVEN
+        RatingStrategy strategy = new WilsonLowerBoundRatingStrategy();
+        Book onePerfect = new Book("one", "title", ImmutableList.of(), ImmutableList.of(5));
+        Book manyGood = new Book("many", "title", ImmutableList.of(), ImmutableList.of());
+        manyGood.addRatings(new long[] {0, 1, 0, 0, 20, 79});
+
+        // WHEN
+        double onePerfectRating = onePerfect.getWeightedRating(strategy).get();
+        double manyGoodRating = manyGood.getWeightedRating(strategy).get();
+
+        // THEN
+        assertTrue(manyGoodRating > onePerfectRating);
+        assertTrue(manyGoodRating <= Book.MAX_STAR_RATING);
+        assertFalse(unrated.getWeightedRating(strategy).isPresent());
+    }
+
+    @Test
+    public void getBestRatedBook_bayesianStrategy_prefersWellReviewedBook() {
+        // GIVEN
+        Book onePerfect = new Book("one", "title", ImmutableList.of(), ImmutableList.of(5));
+        Author author = new Author("name", "id", ImmutableList.of(), ImmutableList.of(onePerfect, book));
+        book.addRatings(new long[] {0, 0, 0, 0, 0, 20});
+
+        // WHEN + THEN
+        assertEquals(onePerfect, author.getBestRatedBook().get());
+        assertEquals(book, author.getBestRatedBook(new BayesianAverageRatingStrategy(3.0, 5)).get());
+    }
+}
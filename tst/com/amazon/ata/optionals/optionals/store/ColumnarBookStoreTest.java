@@ -0,0 +1,117 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.PublisherRegistry;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarBookStoreTest {
+
+    private Publisher testPublisher;
+    private Book ratedBook;
+    private Book unratedBook;
+    private ColumnarBookStore store;
+
+    @BeforeEach
+    public void setup() {
+        testPublisher = new Publisher("id", "name", "contact");
+        ratedBook = new Book("isbn1", "T\u00eftle", ImmutableList.of(
+            new Printing(PrintingType.PAPERBACK, testPublisher, new Date(1_000L)),
+            new Printing(PrintingType.PAPERBACK, null, new Date(500L)),
+            new Printing(PrintingType.HARDCOVER, null, new Date(2_000L))),
+            ImmutableList.of(3, 4, 5));
+        unratedBook = new Book("isbn2", "title2", ImmutableList.of(), ImmutableList.of());
+        store = ColumnarBookStore.of(ImmutableList.of(unratedBook, ratedBook));
+    }
+
+    @Test
+    public void bookView_storedBook_matchesOnHeapBook() {
+        // GIVEN
+        BookView view = store.newBookView().moveTo(1);
+
+        // WHEN + THEN
+        assertEquals(ratedBook.getIsbn(), view.getIsbn());
+        assertEquals(ratedBook.getTitle(), view.getTitle());
+        assertEquals(ratedBook.getWeightedRating(), view.getWeightedRating());
+        assertEquals(testPublisher, view.getPaperback().get().getPublisher().get());
+        assertEquals(1_000L, view.getPaperback().get().getPrintDateMillis());
+    }
+
+    @Test
+    public void of_publisherRegistry_internsPublishers() {
+        // GIVEN
+        PublisherRegistry publisherRegistry = new PublisherRegistry();
+        Publisher registered = publisherRegistry.intern("id", "registered", "contact");
+
+        // WHEN
+        ColumnarBookStore registeredStore = ColumnarBookStore.of(ImmutableList.of(ratedBook), publisherRegistry);
+
+        // THEN
+        assertSame(registered, registeredStore.newBookView().moveTo(0).getPaperback().get().getPublisher().get());
+        assertEquals(1, publisherRegistry.size());
+    }
+
+    @Test
+    public void bookView_unratedBookWithoutPrintings_returnsEmptyOptionals() {
+        // GIVEN
+        BookView view = store.newBookView().moveTo(0);
+
+        // WHEN + THEN
+        assertFalse(view.getWeightedRating().isPresent());
+        assertFalse(view.getPaperback().isPresent());
+    }
+
+    @Test
+    public void findBestRatedBook_oneRatedBook_returnsItsIndex() {
+        // GIVEN + WHEN + THEN
+        assertEquals(1, store.findBestRatedBook(0, 1).getAsInt());
+        assertFalse(store.findBestRatedBook(0).isPresent());
+    }
+
+    @Test
+    public void toBook_storedBook_rebuildsEquivalentBook() {
+        // WHEN
+        Book rebuilt = store.toBook(1);
+
+        // THEN
+        assertEquals(ratedBook.getStarRatings(), rebuilt.getStarRatings());
+        assertEquals(ratedBook.getPaperback().get().getPrintDateMillis(),
+            rebuilt.getPaperback().get().getPrintDateMillis());
+        assertEquals(3, rebuilt.getPrintingsView().size());
+    }
+
+    @Test
+    public void toBook_billionsOfRatings_restoresCountsWithoutExpandingThem() {
+        // GIVEN
+        Book popular = Book.fromStarRatingCounts("isbn", "title", ImmutableList.of(),
+            new long[] {0, 0, 0, 0, 3_000_000_000L, 1_000_000_000L});
+
+        // WHEN
+        Book rebuilt = ColumnarBookStore.of(ImmutableList.of(popular)).toBook(0);
+
+        // THEN
+        assertEquals(Long.valueOf(4_000_000_000L), Long.valueOf(rebuilt.getStarRatingCount()));
+        assertEquals(Long.valueOf(1_000_000_000L), Long.valueOf(rebuilt.getStarRatingCount(5)));
+        assertEquals(popular.getWeightedRating(), rebuilt.getWeightedRating());
+    }
+
+    @Test
+    public void checkedSize_beyondIntRange_throwsIllegalArgumentException() {
+        // GIVEN + WHEN + THEN
+        assertEquals(Integer.MAX_VALUE, ColumnarBookStore.checkedSize(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+            () -> ColumnarBookStore.checkedSize((long) (Integer.MAX_VALUE / 4 + 1) * Long.BYTES));
+    }
+}
@@ -0,0 +1,134 @@
+package com.amazon.ata.optionals.optionals.store;
+
+import com.amazon.ata.optionals.optionals.GetPublisherOfBestRatedPaperbackForAuthorActivity;
+import com.amazon.ata.optionals.optionals.models.Author;
+import com.amazon.ata.optionals.optionals.models.Book;
+import com.amazon.ata.optionals.optionals.models.Printing;
+import com.amazon.ata.optionals.optionals.models.PrintingType;
+import com.amazon.ata.optionals.optionals.models.Publisher;
+import com.amazon.ata.optionals.optionals.models.PublisherRegistry;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedAuthorDaoTest {
+
+    private Publisher testPublisher;
+    private Map<String, Author> testAuthorMap;
+    private Path snapshotFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        testPublisher = new Publisher("id", "name", "contact");
+        Printing printing = new Printing(PrintingType.PAPERBACK, testPublisher, new Date(1_000L));
+        Book book = new Book("isbn", "title", ImmutableList.of(printing), ImmutableList.of(4, 5));
+
+        List<Author> authorPseudonyms = new ArrayList<>();
+        List<Author> penNamePseudonyms = new ArrayList<>();
+        Author author = new Author("author", "id1", authorPseudonyms, ImmutableList.of(book));
+        Author penName = new Author("penName", "id2", penNamePseudonyms, ImmutableList.of());
+        authorPseudonyms.add(penName);
+        penNamePseudonyms.add(author);
+
+        testAuthorMap = new HashMap<>();
+        testAuthorMap.put("author", author);
+        for (int i = 0; i < 50; i++) {
+            testAuthorMap.put("filler" + i, new Author("filler" + i, "id", ImmutableList.of(), ImmutableList.of()));
+        }
+
+        snapshotFile = Files.createTempFile("authors", ".snapshot");
+        snapshotFile.toFile().deleteOnExit();
+        AuthorSnapshot.write(testAuthorMap, snapshotFile);
+    }
+
+    @Test
+    public void findAuthorByName_authorInSnapshot_returnsEquivalentAuthor() throws IOException {
+        // GIVEN
+        MappedAuthorDao authorDao = MappedAuthorDao.open(snapshotFile);
+
+        // WHEN
+        Author author = authorDao.findAuthorByName("author").get();
+
+        // THEN
+        assertEquals("id1", author.getId());
+        assertEquals(ImmutableList.of(4, 5), author.getBooks().get(0).getStarRatings());
+        assertEquals(4.5, author.getBestRatedBook().get().getWeightedRating().get());
+        assertEquals(testPublisher, new GetPublisherOfBestRatedPaperbackForAuthorActivity(authorDao)
+            .handleRequest("author").get());
+    }
+
+    @Test
+    public void open_sharedPublisherRegistry_sharesPublisherInstances() throws IOException {
+        // GIVEN
+        PublisherRegistry publisherRegistry = new PublisherRegistry();
+
+        // WHEN
+        Publisher first = MappedAuthorDao.open(snapshotFile, publisherRegistry).findAuthorByName("author").get()
+            .getBooks().get(0).getPaperback().get().getPublisher().get();
+        Publisher second = MappedAuthorDao.open(snapshotFile, publisherRegistry).findAuthorByName("author").get()
+            .getBooks().get(0).getPaperback().get().getPublisher().get();
+
+        // THEN
+        assertSame(first, second);
+        assertSame(first, publisherRegistry.findById("id").get());
+    }
+
+    @Test
+    public void findAuthorByName_cyclicPseudonyms_sharesAuthorInstances() throws IOException {
+        // GIVEN
+        MappedAuthorDao authorDao = MappedAuthorDao.open(snapshotFile);
+
+        // WHEN
+        Author author = authorDao.findAuthorByName("author").get();
+
+        // THEN
+        Author penName = author.getPseudonyms().get(0);
+        assertEquals("penName", penName.getName());
+        assertSame(author, penName.getPseudonyms().get(0));
+        assertSame(penName, author.getPseudonyms().get(0));
+    }
+
+    @Test
+    public void checkedOffset_beyondIntRange_throwsIllegalArgumentException() {
+        // GIVEN + WHEN + THEN
+        assertEquals(Integer.MAX_VALUE, AuthorSnapshot.checkedOffset(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> AuthorSnapshot.checkedOffset(Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    public void findAuthorByName_unknownName_returnsEmptyOptional() throws IOException {
+        // GIVEN
+        MappedAuthorDao authorDao = MappedAuthorDao.open(snapshotFile);
+
+        // WHEN + THEN
+        assertFalse(authorDao.findAuthorByName("unknown").isPresent());
+        assertEquals(testAuthorMap.keySet().size(), authorDao.getAuthorNames().size());
+    }
+
+    @Test
+    public void rebuildPublisherIndex_mappedSnapshot_indexesEveryName() throws IOException {
+        // GIVEN
+        MappedAuthorDao authorDao = MappedAuthorDao.open(snapshotFile);
+
+        // WHEN
+        authorDao.rebuildPublisherIndex();
+
+        // THEN
+        assertEquals(testPublisher, authorDao.getPublisherIndex().get().findPublisherByAuthorName("author").get());
+    }
+}